@@ -0,0 +1,69 @@
+import bench.Workloads;
+
+import java.util.Random;
+
+// CollisionBroadPhaseBenchmark 측정 대상: 전수 비교(모든 쌍) 와 SpatialGrid broad-phase 의 충돌 쌍 탐색
+// 경기장(500x600)에 미사일 크기와 플레이어 크기 엔티티를 섞어 무작위 배치하고, 두 방식의 겹치는 쌍 수가 같은지 setUp 에서 확인
+public class CollisionWorkload implements Workloads.BroadPhase {
+    private int count;
+    private int[] x, y, width, height;
+    private SpatialGrid grid;
+
+    @Override
+    public void setUp(int entities) {
+        count = entities;
+        x = new int[count];
+        y = new int[count];
+        width = new int[count];
+        height = new int[count];
+        Random random = new Random(42);
+        for (int i = 0; i < count; i++) {
+            boolean player = i % 10 == 0; // 10% 는 플레이어 크기, 나머지는 미사일 크기
+            width[i] = player ? RoomSimulation.PLAYER_SIZE : MissilePool.WIDTH;
+            height[i] = player ? RoomSimulation.PLAYER_SIZE : MissilePool.HEIGHT;
+            x[i] = random.nextInt(RoomSimulation.WIDTH - width[i]);
+            y[i] = random.nextInt(RoomSimulation.HEIGHT - height[i]);
+        }
+        grid = new SpatialGrid(RoomSimulation.WIDTH, RoomSimulation.HEIGHT, RoomSimulation.GRID_CELL_SIZE);
+
+        long brutePairs = bruteForce();
+        long gridPairs = gridBroadPhase();
+        if (brutePairs != gridPairs) {
+            throw new IllegalStateException("충돌 쌍 불일치: " + brutePairs + " != " + gridPairs);
+        }
+    }
+
+    @Override
+    public long bruteForce() {
+        long pairs = 0;
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count; j++) {
+                if (Collision.intersects(x[i], y[i], width[i], height[i], x[j], y[j], width[j], height[j])) {
+                    pairs++;
+                }
+            }
+        }
+        return pairs;
+    }
+
+    // 틱마다 하는 것처럼 격자를 비우고 다시 채운 뒤 엔티티마다 후보만 정밀 판정
+    @Override
+    public long gridBroadPhase() {
+        grid.clear();
+        for (int i = 0; i < count; i++) {
+            grid.insert(i, x[i], y[i], width[i], height[i]);
+        }
+        long pairs = 0;
+        for (int i = 0; i < count; i++) {
+            int candidates = grid.query(x[i], y[i], width[i], height[i]);
+            for (int c = 0; c < candidates; c++) {
+                int j = grid.candidate(c);
+                if (j <= i) continue; // 같은 쌍은 한 번만
+                if (Collision.intersects(x[i], y[i], width[i], height[i], x[j], y[j], width[j], height[j])) {
+                    pairs++;
+                }
+            }
+        }
+        return pairs;
+    }
+}
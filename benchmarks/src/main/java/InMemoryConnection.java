@@ -0,0 +1,60 @@
+import java.awt.*;
+import java.io.*;
+
+// 벤치마크용 플레이어 연결: 실제 코덱으로 인코딩하되 소켓 대신 메모리 스트림에 기록
+final class InMemoryConnection implements PlayerConnection {
+    private final String clientId;
+    private final GameData gameData;
+    private final GameCodec codec;
+    private volatile int hp = RoomSimulation.MAX_HP;
+    private volatile String playerRole;
+
+    InMemoryConnection(String clientId, String protocol) throws IOException {
+        this.clientId = clientId;
+        this.gameData = new GameData(clientId, new Rectangle(0, 0, 50, 50), null, null, null, null, hp);
+        OutputStream sink = OutputStream.nullOutputStream();
+        if ("serialized".equals(protocol)) {
+            // ObjectInputStream 생성 시 읽을 스트림 헤더만 준비
+            ByteArrayOutputStream header = new ByteArrayOutputStream();
+            new ObjectOutputStream(header).flush();
+            this.codec = new GameCodec.SerializedCodec(new ByteArrayInputStream(header.toByteArray()), sink);
+        } else {
+            this.codec = new GameCodec.BinaryCodec(InputStream.nullInputStream(), sink);
+        }
+    }
+
+    @Override
+    public String getClientId() {
+        return clientId;
+    }
+
+    @Override
+    public String getPlayerRole() {
+        return playerRole;
+    }
+
+    @Override
+    public void setPlayerRole(String playerRole) {
+        this.playerRole = playerRole;
+    }
+
+    @Override
+    public int getHp() {
+        return hp;
+    }
+
+    @Override
+    public void setHp(int hp) {
+        this.hp = hp;
+    }
+
+    @Override
+    public GameData getGameData() {
+        return gameData;
+    }
+
+    @Override
+    public void sendData(NetMessage data) throws IOException {
+        codec.write(data);
+    }
+}
@@ -0,0 +1,44 @@
+import bench.Workloads;
+
+import java.awt.*;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+// GameDataItemBenchmark 측정 대상
+// 리스트 크기를 일정하게 유지하려고 매 호출마다 같은 아이템을 넣었다 뺀다
+public class ItemWorkload implements Workloads.Items {
+    private GameData data;
+    private GameData.Item extra;
+    private PrintStream originalOut;
+
+    @Override
+    public void setUp(int items) {
+        // addItem 의 로그 출력이 JMH 출력을 덮지 않도록 버림 (문자열 생성 비용은 그대로 측정됨)
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        data = new GameData("client-1", null, null, null, "room-1", "Player1", 5);
+        for (int i = 0; i < items; i++) {
+            String type = i % 2 == 0 ? "speed" : "speedDown";
+            data.getItems().add(new GameData.Item("item-" + i, new Rectangle(i % 470, i % 570, 30, 30), type));
+        }
+        extra = new GameData.Item("item-extra", new Rectangle(10, 10, 30, 30), "speed");
+    }
+
+    @Override
+    public boolean addItem() {
+        data.addItem(extra); // 리스트 끝까지 중복 검사 후 추가
+        return data.getItems().remove(data.getItems().size() - 1) == extra;
+    }
+
+    @Override
+    public boolean removeItemById() {
+        data.getItems().add(extra);
+        return data.removeItemById(extra.getId()); // 리스트 끝까지 탐색
+    }
+
+    @Override
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+}
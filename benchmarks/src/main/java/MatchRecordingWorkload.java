@@ -0,0 +1,73 @@
+import bench.Workloads;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// MatchRecordingBenchmark 측정 대상
+// 봇처럼 방향키를 몇 틱씩 누르고 가끔 발사하는 입력으로 경기를 진행 (녹화할 때는 서버 틱과 같은 순서로 기록)
+// 녹화 크기(분당 bytes)는 JMH 결과에 들어가지 않으므로 tearDown 에서 출력만 한다
+public class MatchRecordingWorkload implements Workloads.Recording {
+    private static final int[] DIRECTIONS = {0, InputCommand.UP, InputCommand.DOWN, InputCommand.LEFT, InputCommand.RIGHT,
+            InputCommand.UP | InputCommand.LEFT, InputCommand.DOWN | InputCommand.RIGHT};
+
+    private Path dir;
+    private int match;
+    private long recordedTicks;
+
+    @Override
+    public void setUp(boolean record) throws IOException {
+        if (!record) return;
+        dir = Files.createTempDirectory("match-recording");
+        System.setProperty("shooting.record.dir", dir.toString()); // MatchRecorder 초기화 전에 지정 (포크마다 새 JVM)
+    }
+
+    @Override
+    public int playMatch(int ticks) {
+        match++;
+        SplittableRandom random = new SplittableRandom(match);
+        RoomSimulation simulation = new RoomSimulation(match);
+        MatchRecorder recorder = dir != null ? MatchRecorder.start("bench-" + match, match, System.currentTimeMillis(), new String[]{"player-1", "player-2"}) : null;
+        int[] held = new int[2];
+        int[] holdTicks = new int[2];
+
+        for (int tick = 0; tick < ticks; tick++) {
+            for (int slot = 0; slot < 2; slot++) {
+                if (--holdTicks[slot] <= 0) {
+                    held[slot] = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+                    holdTicks[slot] = 5 + random.nextInt(40);
+                }
+                int buttons = random.nextInt(30) == 0 ? held[slot] | InputCommand.FIRE : held[slot];
+                simulation.applyInput(slot, buttons);
+                if (recorder != null) recorder.input(slot, buttons);
+            }
+            simulation.step();
+            ItemManager items = simulation.getItems();
+            List<ItemManager.Removal> removed = items.drainRemoved();
+            List<GameData.Item> spawned = items.drainSpawned();
+            if (recorder != null) recorder.step(simulation, removed, spawned);
+        }
+        if (recorder != null) recorder.finish();
+        recordedTicks += ticks;
+        return simulation.getTick();
+    }
+
+    @Override
+    public void tearDown() throws IOException, InterruptedException {
+        if (dir == null) return;
+        Thread.sleep(500); // match-writer 가 마지막 조각을 쓸 때까지
+        try (var files = Files.list(dir)) {
+            List<Path> recordings = files.toList();
+            long bytes = 0;
+            for (Path path : recordings) {
+                bytes += Files.size(path);
+                Files.delete(path);
+            }
+            System.out.printf("녹화 %d개, %.0f bytes/분%n", recordings.size(),
+                    bytes / (recordedTicks / (double) (60 * RoomSimulation.TICK_RATE)));
+        }
+        Files.delete(dir);
+    }
+}
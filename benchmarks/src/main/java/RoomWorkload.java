@@ -0,0 +1,44 @@
+import bench.Workloads;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+// RoomBenchmark 측정 대상
+// 연결은 실제 코덱으로 메모리 스트림에 기록하는 InMemoryConnection
+// 두 명이 모이면 방의 60Hz 틱도 백그라운드에서 함께 돈다 (실제 서버와 같은 조건)
+public class RoomWorkload implements Workloads.RoomOps {
+    private Room room;
+    private InMemoryConnection player1;
+    private InMemoryConnection player2;
+    private GameData frame;
+
+    @Override
+    public void setUp(String protocol, int missiles) throws Exception {
+        room = new Room("bench-room");
+        player1 = new InMemoryConnection("player-1", protocol);
+        player2 = new InMemoryConnection("player-2", protocol);
+        player1.setPlayerRole("Player1");
+        player2.setPlayerRole("Player2");
+        room.addPlayer(player1);
+        room.addPlayer(player2);
+
+        // 기존 프로토콜 상태 프레임 형태: 위치 + 미사일 목록 (미사일 수만큼 인코딩 비용이 늘어남)
+        List<Missile> missileList = new ArrayList<>();
+        for (int i = 0; i < missiles; i++) {
+            missileList.add(new Missile(i % 500, 300 + i % 200, 0, -1));
+        }
+        frame = new GameData(player1.getClientId(), new Rectangle(150, 500, 50, 50), missileList, null, "bench-room", "Player1", 5);
+    }
+
+    @Override
+    public void broadcast() {
+        room.broadcast(frame, player1); // player2 에게 전송
+    }
+
+    @Override
+    public void tearDown() {
+        room.removePlayer(player2);
+        room.removePlayer(player1); // 틱 정지
+    }
+}
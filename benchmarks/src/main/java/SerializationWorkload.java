@@ -0,0 +1,44 @@
+import bench.Workloads;
+
+import java.awt.*;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+// GameDataSerializationBenchmark 측정 대상: GameData 한 프레임 인코딩 → 디코딩
+public class SerializationWorkload implements Workloads.Serialization {
+    private final GameProtocol.FrameBuffer frameBuffer = new GameProtocol.FrameBuffer();
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+    private boolean serialized;
+    private GameData data;
+
+    @Override
+    public void setUp(String protocol, int missiles) {
+        serialized = "serialized".equals(protocol);
+        List<Missile> missileList = new ArrayList<>();
+        for (int i = 0; i < missiles; i++) {
+            missileList.add(new Missile(i * 5, 300, 0, -1));
+        }
+        List<GameData.Item> items = new ArrayList<>();
+        items.add(new GameData.Item("item-1", new Rectangle(120, 80, 30, 30), "speed"));
+        data = new GameData("client-1", new Rectangle(150, 500, 50, 50), missileList, items, "room-1", "Player1", 5);
+        data.getActions().add(GameData.ACTION_FIRE + " 180 528 0 -1");
+    }
+
+    @Override
+    public Object roundTrip() throws IOException, ClassNotFoundException {
+        if (serialized) {
+            bytes.reset();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(data);
+            }
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                return in.readObject();
+            }
+        }
+        ByteBuffer frame = frameBuffer.encodeFrame(data);
+        frame.getInt(); // 길이 prefix
+        return GameProtocol.decode(frame);
+    }
+}
@@ -0,0 +1,156 @@
+import java.awt.*;
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+// 직렬화 코덱 reset 정책별 메모리 추이: 30분 경기(60Hz)를 시뮬레이션해 힙 사용량과 연결당 보유 추정치를 찍는다
+// 틱마다 기존 서버처럼 새 GameData 상태 프레임 두 개를 쓰고, 재사용 객체(연결의 gameData)도 HP 를 바꿔 다시 보낸다.
+// 받는 쪽 ObjectInputStream 으로 실제 디코딩해서 재사용 객체의 변경이 전달됐는지도 센다.
+// 기본값(resetInterval=1)은 검사: 첫 표본 이후 힙이나 연결 보유량이 늘거나 옛 값을 한 번이라도 받으면 종료 코드 1
+// 빌드(mvn -B test)에서 자동으로 돈다 (benchmarks/pom.xml), 다른 간격은 비교용으로 값만 찍는다.
+// 실행: java -Xmx1g -cp <게임 클래스>:<벤치마크 클래스> SerializedStreamMemoryCheck [분] [reset 간격...]
+public class SerializedStreamMemoryCheck {
+    private static final int SAMPLE_MINUTES = 5;
+    private static final int CHECKED_INTERVAL = 1;            // 서버 기본값 (GameCodec.SerializedCodec.RESET_INTERVAL)
+    private static final long HEAP_SLACK_BYTES = 1024 * 1024; // GC 측정 오차 허용치
+
+    public static void main(String[] args) throws IOException {
+        int minutes = args.length > 0 ? Integer.parseInt(args[0]) : 30;
+        int[] intervals = {CHECKED_INTERVAL};
+        if (args.length > 1) {
+            intervals = new int[args.length - 1];
+            for (int i = 1; i < args.length; i++) intervals[i - 1] = Integer.parseInt(args[i]);
+        }
+        boolean passed = true;
+        for (int interval : intervals) {
+            passed &= run(minutes, interval);
+        }
+        if (!passed) System.exit(1);
+    }
+
+    // 검사 대상 간격이 아니면 항상 true
+    private static boolean run(int minutes, int resetInterval) throws IOException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ChunkPipe pipe = new ChunkPipe();
+        ByteArrayOutputStream header = new ByteArrayOutputStream(); // 코덱의 ObjectInputStream 생성용 (읽지는 않음)
+        new ObjectOutputStream(header).flush();
+        GameCodec.SerializedCodec writer = new GameCodec.SerializedCodec(new ByteArrayInputStream(header.toByteArray()), pipe.output(), resetInterval);
+        pipe.flushChunk();
+        ObjectInputStream reader = new ObjectInputStream(pipe.input());
+
+        System.out.printf("resetInterval=%d%s%n", resetInterval, resetInterval == 0 ? " (reset 안 함)" : "");
+        long baseline = usedHeap(memory);
+        GameData reused = new GameData("player-1", new Rectangle(150, 500, 50, 50), null, null, "room-1", "Player1", 5);
+        List<NetMessage> batch = new ArrayList<>(3);
+        long staleReads = 0;
+        long firstHeap = -1, firstRetained = -1, heapGrowth = 0, retainedGrowth = 0;
+        int ticks = minutes * 60 * RoomSimulation.TICK_RATE;
+
+        for (int tick = 1; tick <= ticks; tick++) {
+            batch.clear();
+            for (int slot = 0; slot < 2; slot++) {
+                List<Missile> missiles = new ArrayList<>();
+                for (int i = 0; i < 6; i++) missiles.add(new Missile(tick % 500, (tick + i * 40) % 600, 0, slot == 0 ? -1 : 1));
+                batch.add(new GameData("player-" + slot, new Rectangle(tick % 440, 300, 50, 50), missiles, null, "room-1", "Player" + (slot + 1), 5));
+            }
+            reused.setHp(tick % 6);
+            batch.add(reused);
+            writer.writeAll(batch);
+            pipe.flushChunk();
+
+            for (int i = 0; i < batch.size(); i++) {
+                GameData received = readObject(reader);
+                if (i == batch.size() - 1 && received.getHp() != tick % 6) staleReads++;
+            }
+
+            if (tick % (SAMPLE_MINUTES * 60 * RoomSimulation.TICK_RATE) == 0) {
+                long heap = usedHeap(memory) - baseline;
+                long retained = writer.retainedBytes();
+                if (firstHeap < 0) {
+                    firstHeap = heap;
+                    firstRetained = retained;
+                }
+                heapGrowth = Math.max(heapGrowth, heap - firstHeap);
+                retainedGrowth = Math.max(retainedGrowth, retained - firstRetained);
+                System.out.printf("  %3d분: 힙 +%.1fMB, 연결 보유 추정 %.1fKB, 재사용 객체 옛 값 수신 %d회%n",
+                        tick / (60 * RoomSimulation.TICK_RATE), heap / 1024.0 / 1024.0, retained / 1024.0, staleReads);
+            }
+        }
+
+        if (resetInterval != CHECKED_INTERVAL) return true;
+        boolean passed = heapGrowth <= HEAP_SLACK_BYTES && retainedGrowth <= 0 && staleReads == 0;
+        System.out.printf("검사 %s: 힙 증가 %.1fKB (허용 %dKB), 연결 보유 증가 %dB, 옛 값 수신 %d회%n",
+                passed ? "통과" : "실패", heapGrowth / 1024.0, HEAP_SLACK_BYTES / 1024, retainedGrowth, staleReads);
+        return passed;
+    }
+
+    private static GameData readObject(ObjectInputStream reader) throws IOException {
+        try {
+            return (GameData) reader.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new InvalidClassException(e.getMessage());
+        }
+    }
+
+    private static long usedHeap(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    // 쓴 바이트를 조각 단위로 넘겨주는 메모리 파이프 (같은 스레드에서 쓰고 읽음)
+    private static final class ChunkPipe {
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private final ArrayDeque<byte[]> chunks = new ArrayDeque<>();
+
+        OutputStream output() {
+            return buffer;
+        }
+
+        void flushChunk() {
+            if (buffer.size() == 0) return;
+            chunks.add(buffer.toByteArray());
+            buffer.reset();
+        }
+
+        InputStream input() {
+            return new InputStream() {
+                private byte[] current = new byte[0];
+                private int position;
+
+                @Override
+                public int read() {
+                    if (!ensure()) return -1;
+                    return current[position++] & 0xFF;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    if (len == 0) return 0;
+                    if (!ensure()) return -1;
+                    int n = Math.min(len, current.length - position);
+                    System.arraycopy(current, position, b, off, n);
+                    position += n;
+                    return n;
+                }
+
+                @Override
+                public int available() {
+                    return current.length - position;
+                }
+
+                private boolean ensure() {
+                    while (position == current.length) {
+                        byte[] next = chunks.poll();
+                        if (next == null) return false;
+                        current = next;
+                        position = 0;
+                    }
+                    return true;
+                }
+            };
+        }
+    }
+}
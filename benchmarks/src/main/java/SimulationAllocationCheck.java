@@ -0,0 +1,37 @@
+import java.lang.management.ManagementFactory;
+
+// RoomSimulation.step() 의 틱당 힙 할당량 검사: 미사일 수별로 한 바이트라도 할당하면 종료 코드 1
+// 빌드(mvn -B test)에서 자동으로 돈다 (benchmarks/pom.xml), 시간 측정은 JMH bench.SimulationStepBenchmark
+// 실행: java -cp <게임 클래스>:<벤치마크 클래스> SimulationAllocationCheck [미사일 수...]
+public class SimulationAllocationCheck {
+    private static final int TICKS = 40; // 미사일이 화면을 벗어나기 전까지 측정
+
+    public static void main(String[] args) {
+        int[] missileCounts = {0, 100, 1000};
+        if (args.length > 0) {
+            missileCounts = new int[args.length];
+            for (int i = 0; i < args.length; i++) missileCounts[i] = Integer.parseInt(args[i]);
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        boolean passed = true;
+        for (int missileCount : missileCounts) {
+            // JIT 워밍업
+            for (int i = 0; i < 2_000; i++) {
+                RoomSimulation simulation = SimulationWorkload.populated(missileCount);
+                for (int tick = 0; tick < TICKS; tick++) simulation.step();
+            }
+
+            RoomSimulation simulation = SimulationWorkload.populated(missileCount);
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int tick = 0; tick < TICKS; tick++) simulation.step();
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+            System.out.printf("missiles=%d ticks=%d active=%d allocated=%d bytes (%.1f bytes/tick) %s%n",
+                    missileCount, TICKS, simulation.getMissiles().size(), allocated, allocated / (double) TICKS,
+                    allocated == 0 ? "통과" : "실패");
+            passed &= allocated == 0;
+        }
+        if (!passed) System.exit(1);
+    }
+}
@@ -0,0 +1,26 @@
+import bench.Workloads;
+
+// SimulationStepBenchmark 측정 대상 (SimulationAllocationCheck 와 같은 미사일 배치)
+public class SimulationWorkload implements Workloads.Simulation {
+    private RoomSimulation simulation;
+
+    @Override
+    public void populate(int missiles) {
+        simulation = populated(missiles);
+    }
+
+    @Override
+    public int step(int ticks) {
+        for (int tick = 0; tick < ticks; tick++) simulation.step();
+        return simulation.getMissiles().size();
+    }
+
+    // 플레이어와 겹치지 않는 울타리 근처에서 오른쪽으로 날아가는 미사일 배치
+    static RoomSimulation populated(int missileCount) {
+        RoomSimulation simulation = new RoomSimulation();
+        for (int i = 0; i < missileCount; i++) {
+            simulation.fire(i % 2, i % 90, 160 + i % 170, 1, 0);
+        }
+        return simulation;
+    }
+}
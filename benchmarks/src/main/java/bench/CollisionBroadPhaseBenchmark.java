@@ -0,0 +1,35 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// 엔티티 수별 충돌 쌍 탐색: 전수 비교 vs SpatialGrid broad-phase (격자 다시 채우기 포함)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBroadPhaseBenchmark {
+    @Param({"10", "100", "10000"})
+    public int entities;
+
+    private Workloads.BroadPhase workload;
+
+    @Setup
+    public void setUp() {
+        workload = Workloads.load("CollisionWorkload", Workloads.BroadPhase.class);
+        workload.setUp(entities);
+    }
+
+    @Benchmark
+    public long bruteForce() {
+        return workload.bruteForce();
+    }
+
+    @Benchmark
+    public long gridBroadPhase() {
+        return workload.gridBroadPhase();
+    }
+}
@@ -0,0 +1,40 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// 큰 아이템 리스트에서 GameData.addItem / removeItemById
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameDataItemBenchmark {
+    @Param({"100", "10000"})
+    public int items;
+
+    private Workloads.Items workload;
+
+    @Setup
+    public void setUp() {
+        workload = Workloads.load("ItemWorkload", Workloads.Items.class);
+        workload.setUp(items);
+    }
+
+    @TearDown
+    public void tearDown() {
+        workload.tearDown();
+    }
+
+    @Benchmark
+    public boolean addItem() {
+        return workload.addItem();
+    }
+
+    @Benchmark
+    public boolean removeItemById() {
+        return workload.removeItemById();
+    }
+}
@@ -0,0 +1,33 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// GameData 인코딩 → 디코딩 왕복 (바이너리 프레임 vs Java 직렬화)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameDataSerializationBenchmark {
+    @Param({"binary", "serialized"})
+    public String protocol;
+
+    @Param({"0", "10", "100"})
+    public int missiles;
+
+    private Workloads.Serialization workload;
+
+    @Setup
+    public void setUp() throws Exception {
+        workload = Workloads.load("SerializationWorkload", Workloads.Serialization.class);
+        workload.setUp(protocol, missiles);
+    }
+
+    @Benchmark
+    public Object roundTrip() throws Exception {
+        return workload.roundTrip();
+    }
+}
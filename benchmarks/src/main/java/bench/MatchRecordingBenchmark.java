@@ -0,0 +1,38 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// 경기 녹화(MatchRecorder)가 틱에 더하는 시간: 1분짜리 경기 하나를 녹화 없이/녹화하며 진행 (결과는 틱당 시간)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchRecordingBenchmark {
+    private static final int TICKS = 60 * 60; // 1분 (60Hz)
+
+    @Param({"false", "true"})
+    public boolean record;
+
+    private Workloads.Recording workload;
+
+    @Setup
+    public void setUp() throws Exception {
+        workload = Workloads.load("MatchRecordingWorkload", Workloads.Recording.class);
+        workload.setUp(record);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        workload.tearDown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public int playMatch() {
+        return workload.playMatch(TICKS);
+    }
+}
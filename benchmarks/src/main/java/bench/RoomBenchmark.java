@@ -0,0 +1,39 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Room.broadcast 전송 (미사일 목록 크기별 인코딩 포함)
+// 기존 GameData 프레임 처리(processGameData)는 입력만 저장하므로 틱 비용은 SimulationStepBenchmark 에서 잰다
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoomBenchmark {
+    @Param({"binary", "serialized"})
+    public String protocol;
+
+    @Param({"0", "100", "1000"})
+    public int missiles;
+
+    private Workloads.RoomOps workload;
+
+    @Setup
+    public void setUp() throws Exception {
+        workload = Workloads.load("RoomWorkload", Workloads.RoomOps.class);
+        workload.setUp(protocol, missiles);
+    }
+
+    @TearDown
+    public void tearDown() {
+        workload.tearDown();
+    }
+
+    @Benchmark
+    public void broadcast() {
+        workload.broadcast();
+    }
+}
@@ -0,0 +1,39 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// RoomSimulation.step() 한 틱 (풀에 든 미사일 수별)
+// 미사일이 화면을 벗어나기 전 TICKS 틱을 한 번의 호출로 재고, 호출마다 새로 채운다
+// 할당량은 -prof gc 의 gc.alloc.rate.norm (0 이어야 함, 빌드에서는 SimulationAllocationCheck 가 검사)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulationStepBenchmark {
+    private static final int TICKS = 40;
+
+    @Param({"0", "100", "1000"})
+    public int missiles;
+
+    private Workloads.Simulation workload;
+
+    @Setup
+    public void setUp() {
+        workload = Workloads.load("SimulationWorkload", Workloads.Simulation.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void populate() {
+        workload.populate(missiles);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public int step() {
+        return workload.step(TICKS);
+    }
+}
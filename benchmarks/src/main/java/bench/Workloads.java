@@ -0,0 +1,64 @@
+package bench;
+
+// 게임 클래스는 기본 패키지라 패키지가 있어야 하는 JMH 벤치마크 클래스에서 직접 참조할 수 없다.
+// 그래서 측정 대상 코드는 기본 패키지의 *Workload 클래스에 두고, 여기 인터페이스로 이름을 통해 불러 호출한다.
+// 구현체가 하나뿐이라 JIT 가 호출을 인라인하므로 측정값에 끼치는 영향은 없다.
+public final class Workloads {
+    private Workloads() {
+    }
+
+    public interface Serialization {
+        void setUp(String protocol, int missiles) throws Exception;
+
+        Object roundTrip() throws Exception;
+    }
+
+    public interface Items {
+        void setUp(int items);
+
+        boolean addItem();
+
+        boolean removeItemById();
+
+        void tearDown();
+    }
+
+    public interface RoomOps {
+        void setUp(String protocol, int missiles) throws Exception;
+
+        void broadcast();
+
+        void tearDown();
+    }
+
+    public interface Simulation {
+        // 새 시뮬레이션에 미사일을 채움 (측정 밖에서 호출)
+        void populate(int missiles);
+
+        int step(int ticks);
+    }
+
+    public interface BroadPhase {
+        void setUp(int entities);
+
+        long bruteForce();
+
+        long gridBroadPhase();
+    }
+
+    public interface Recording {
+        void setUp(boolean record) throws Exception;
+
+        int playMatch(int ticks);
+
+        void tearDown() throws Exception;
+    }
+
+    static <T> T load(String className, Class<T> type) {
+        try {
+            return type.cast(Class.forName(className).getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("워크로드 생성 실패: " + className, e);
+        }
+    }
+}
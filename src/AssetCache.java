@@ -0,0 +1,76 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import javax.swing.ImageIcon;
+
+// 클라이언트 이미지 캐시
+// 시작할 때 한 번 읽어 화면에 그릴 크기로 미리 축소한 호환 이미지로 바꿔 둔다 (그릴 때 축소/변환 없음).
+// 배경과 울타리는 움직이지 않으므로 VolatileImage 한 장에 합쳐 두고, 내용이 사라지면 다시 그린다.
+final class AssetCache {
+    static final int PLAYER_SIZE = RoomSimulation.PLAYER_SIZE;
+    static final int MISSILE_SIZE = 20;
+
+    private final GraphicsConfiguration config;
+    private final Image[] players;   // 슬롯별 (Player1 커비, Player2 디디디)
+    private final Image[] missiles;  // 슬롯별 (별, 망치)
+    private final Image speedUp;
+    private final Image speedDown;
+    private final Image background;
+    private final Image fence;
+    private final Rectangle fenceBounds;
+    private VolatileImage backgroundLayer;
+
+    AssetCache(Rectangle fenceBounds) {
+        this.config = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+        this.fenceBounds = fenceBounds;
+        players = new Image[]{load("images/kirby.png", PLAYER_SIZE, PLAYER_SIZE), load("images/dididi.png", PLAYER_SIZE, PLAYER_SIZE)};
+        missiles = new Image[]{load("images/starBullet.png", MISSILE_SIZE, MISSILE_SIZE), load("images/hammer.png", MISSILE_SIZE, MISSILE_SIZE)};
+        speedUp = load("images/speedUp.png", ItemManager.SIZE, ItemManager.SIZE);
+        speedDown = load("images/speedDown.png", ItemManager.SIZE, ItemManager.SIZE);
+        background = load("images/background.png", RoomSimulation.WIDTH, RoomSimulation.HEIGHT);
+        fence = load("images/fance.png", fenceBounds.width, fenceBounds.height);
+    }
+
+    private Image load(String path, int width, int height) {
+        Image source = new ImageIcon(path).getImage(); // 로딩이 끝날 때까지 기다림
+        BufferedImage scaled = config.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        Graphics2D g = scaled.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(source, 0, 0, width, height, null);
+        g.dispose();
+        return scaled;
+    }
+
+    Image player(int slot) {
+        return players[slot];
+    }
+
+    Image missile(int slot) {
+        return missiles[slot];
+    }
+
+    Image item(String type) {
+        return ItemManager.SPEED_UP.equals(type) ? speedUp : speedDown;
+    }
+
+    // 정적 배경 한 장을 그림, 그리는 도중 내용이 사라지면 다시 그림
+    void drawBackground(Graphics g) {
+        do {
+            int status = backgroundLayer == null ? VolatileImage.IMAGE_INCOMPATIBLE : backgroundLayer.validate(config);
+            if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                backgroundLayer = config.createCompatibleVolatileImage(RoomSimulation.WIDTH, RoomSimulation.HEIGHT);
+                renderBackground();
+            } else if (status == VolatileImage.IMAGE_RESTORED) {
+                renderBackground();
+            }
+            g.drawImage(backgroundLayer, 0, 0, null);
+        } while (backgroundLayer.contentsLost());
+    }
+
+    private void renderBackground() {
+        Graphics2D g = backgroundLayer.createGraphics();
+        g.drawImage(background, 0, 0, null);
+        g.drawImage(fence, fenceBounds.x, fenceBounds.y, null);
+        g.dispose();
+    }
+}
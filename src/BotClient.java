@@ -0,0 +1,190 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Swing 없이 실제 클라이언트와 같은 프로토콜을 쓰는 부하 테스트용 봇
+// 입력 전용 프로토콜로 무작위 이동/발사 입력을 보낸다. 아이템은 서버가 만들고 돌아다니다 닿으면 주워진다.
+// 입력 순번을 보낸 시각을 기억해 두었다가 스냅샷의 ack 순번으로 왕복 시간을 잰다.
+final class BotClient {
+    private static final int PENDING_INPUTS = 1024; // 확인 대기 중인 입력 보낸 시각 (순번 % 크기)
+    private static final long DIRECTION_CHANGE_NANOS = 500_000_000L;
+
+    private final String host;
+    private final int port;
+    private final LoadDriver.Settings settings;
+    private final LoadDriver.Stats stats;
+
+    private volatile Socket socket;
+    private GameCodec codec;
+    private String clientId;
+    private final long[] inputSentAt = new long[PENDING_INPUTS];
+    private int lastAckedSequence;
+    private volatile int lastAckTick = StateSnapshot.FULL;
+    private volatile boolean gameOver;
+    private volatile boolean running = true;
+
+    BotClient(String host, int port, LoadDriver.Settings settings, LoadDriver.Stats stats) {
+        this.host = host;
+        this.port = port;
+        this.settings = settings;
+        this.stats = stats;
+    }
+
+    // 게임이 끝나면 새로 접속해 다시 매칭, stop() 까지 반복
+    void run() {
+        while (running) {
+            if (!connect()) {
+                sleepNanos(1_000_000_000L); // 연결 실패 시 잠시 후 재시도
+                continue;
+            }
+            Thread reader = Thread.ofVirtual().name("bot-reader").start(this::receive);
+            try {
+                play();
+            } finally {
+                close();
+                try {
+                    reader.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    void stop() {
+        running = false;
+        close();
+    }
+
+    // 접속 ~ 초기 데이터 수신까지를 연결 지연으로 기록
+    private boolean connect() {
+        long start = System.nanoTime();
+        try {
+            Socket newSocket = new Socket();
+            newSocket.setTcpNoDelay(true);
+            newSocket.connect(new InetSocketAddress(host, port), 10_000);
+            socket = newSocket;
+            codec = GameCodec.open(newSocket);
+            codec.write(settings.criteria().joinRequest());
+            NetMessage initial = codec.read();
+            if (!(initial instanceof GameData initialData)) throw new IOException("초기 데이터가 아님: " + initial);
+            clientId = initialData.getClientId();
+            stats.connectLatency.record((System.nanoTime() - start) / 1_000);
+            stats.connected.increment();
+            lastAckedSequence = 0;
+            lastAckTick = StateSnapshot.FULL;
+            gameOver = false;
+            return true;
+        } catch (IOException e) {
+            stats.connectFailures.increment();
+            close();
+            return false;
+        }
+    }
+
+    // 입력 주기마다 입력 하나
+    private void play() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long interval = 1_000_000_000L / settings.inputRate();
+        double fireChance = settings.fireRate() / (double) settings.inputRate();
+        int sequence = 0;
+        int direction = 0;
+        long nextDirectionChange = 0;
+
+        long next = System.nanoTime();
+        try {
+            while (running && !gameOver && socket != null && !socket.isClosed()) {
+                long now = System.nanoTime();
+                if (now >= nextDirectionChange) {
+                    direction = randomDirection(random);
+                    nextDirectionChange = now + DIRECTION_CHANGE_NANOS;
+                }
+                int buttons = direction;
+                if (random.nextDouble() < fireChance) buttons |= InputCommand.FIRE;
+
+                sequence++;
+                synchronized (inputSentAt) {
+                    inputSentAt[sequence % PENDING_INPUTS] = now;
+                }
+                codec.write(new InputCommand(sequence, lastAckTick, buttons, 5));
+                stats.sent.increment();
+
+                next += interval;
+                sleepNanos(next - System.nanoTime());
+            }
+        } catch (IOException e) {
+            if (running && !gameOver) stats.disconnects.increment();
+        }
+    }
+
+    private static int randomDirection(ThreadLocalRandom random) {
+        int buttons = 0;
+        switch (random.nextInt(3)) {
+            case 1 -> buttons |= InputCommand.LEFT;
+            case 2 -> buttons |= InputCommand.RIGHT;
+            default -> {
+            }
+        }
+        switch (random.nextInt(3)) {
+            case 1 -> buttons |= InputCommand.UP;
+            case 2 -> buttons |= InputCommand.DOWN;
+            default -> {
+            }
+        }
+        return buttons;
+    }
+
+    private void receive() {
+        try {
+            while (true) {
+                NetMessage message = codec.read();
+                stats.received.increment();
+                if (message instanceof StateSnapshot snapshot) {
+                    lastAckTick = snapshot.getTick();
+                    recordRoundTrips(snapshot.getAckSequence());
+                } else if (message instanceof GameData data && data.isGameOver()) {
+                    stats.gamesFinished.increment();
+                    gameOver = true;
+                    close();
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            if (running && !gameOver) stats.disconnects.increment();
+            gameOver = true; // play() 종료 후 재접속
+        }
+    }
+
+    // 새로 확인된 입력들의 왕복 시간 기록
+    private void recordRoundTrips(int ackSequence) {
+        long now = System.nanoTime();
+        synchronized (inputSentAt) {
+            int from = Math.max(lastAckedSequence + 1, ackSequence - PENDING_INPUTS + 1);
+            for (int sequence = from; sequence <= ackSequence; sequence++) {
+                stats.roundTrip.record((now - inputSentAt[sequence % PENDING_INPUTS]) / 1_000);
+            }
+            lastAckedSequence = Math.max(lastAckedSequence, ackSequence);
+        }
+    }
+
+    private void close() {
+        Socket current = socket;
+        if (current == null) return;
+        try {
+            current.close();
+        } catch (IOException e) {
+            // 이미 닫힘
+        }
+    }
+
+    private static void sleepNanos(long nanos) {
+        if (nanos <= 0) return;
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+// 객체 할당 없는 AABB 충돌 판정 (Rectangle.intersects 와 같은 규칙)
+final class Collision {
+    private Collision() {
+    }
+
+    static boolean intersects(int ax, int ay, int aw, int ah, int bx, int by, int bw, int bh) {
+        if (aw <= 0 || ah <= 0 || bw <= 0 || bh <= 0) return false;
+        return bx < ax + aw && ax < bx + bw && by < ay + ah && ay < by + bh;
+    }
+}
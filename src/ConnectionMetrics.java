@@ -0,0 +1,22 @@
+import java.util.concurrent.atomic.LongAdder;
+
+// 연결 하나의 송수신 통계 (코덱/NIO 연결이 기록, 스크레이프/JMX 가 읽음)
+// 읽는 스레드와 쓰는 스레드가 따로 기록하므로 락 없는 LongAdder 사용
+final class ConnectionMetrics {
+    final LongAdder bytesIn = new LongAdder();
+    final LongAdder bytesOut = new LongAdder();
+    final LongAdder messagesIn = new LongAdder();
+    final LongAdder messagesOut = new LongAdder();
+    final LongAdder serializeNanos = new LongAdder(); // 메시지 인코딩에 쓴 시간 (소켓 쓰기 제외)
+
+    void received(int bytes) {
+        bytesIn.add(bytes);
+        messagesIn.increment();
+    }
+
+    void sent(int bytes, long encodeNanos) {
+        bytesOut.add(bytes);
+        messagesOut.increment();
+        serializeNanos.add(encodeNanos);
+    }
+}
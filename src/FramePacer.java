@@ -0,0 +1,53 @@
+import java.awt.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.swing.JComponent;
+
+// 화면 주사율(-Dshooting.client.fps 로 지정 가능)에 맞춰 repaint 요청
+// 이전 프레임을 아직 그리지 않았으면 요청을 건너뛰어 EDT 에 그리기 작업이 쌓이지 않게 한다.
+final class FramePacer {
+    private static final int DEFAULT_FPS = 60;
+
+    private final JComponent target;
+    private final long frameNanos;
+    private final AtomicBoolean framePending = new AtomicBoolean();
+
+    FramePacer(JComponent target) {
+        this.target = target;
+        int fps = Math.max(1, Integer.getInteger("shooting.client.fps", refreshRate()));
+        this.frameNanos = 1_000_000_000L / fps;
+    }
+
+    void start() {
+        Thread.ofPlatform().name("frame-pacer").daemon().start(this::run);
+    }
+
+    // paintComponent 에서 호출
+    void framePainted() {
+        framePending.set(false);
+    }
+
+    private void run() {
+        long next = System.nanoTime();
+        while (true) {
+            if (framePending.compareAndSet(false, true)) {
+                target.repaint();
+            }
+            next += frameNanos;
+            long delay = next - System.nanoTime();
+            if (delay <= 0) {
+                next = System.nanoTime(); // 밀린 프레임은 따라잡지 않음
+                continue;
+            }
+            try {
+                Thread.sleep(delay / 1_000_000, (int) (delay % 1_000_000));
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private static int refreshRate() {
+        int rate = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDisplayMode().getRefreshRate();
+        return rate == DisplayMode.REFRESH_RATE_UNKNOWN || rate <= 0 ? DEFAULT_FPS : rate;
+    }
+}
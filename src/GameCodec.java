@@ -0,0 +1,278 @@
+import java.io.*;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 소켓 위에서 NetMessage 를 주고받는 코덱
+// -Dshooting.protocol=binary (기본값) | serialized
+// write 는 여러 스레드에서 호출되므로 ReentrantLock 으로 직렬화 (가상 스레드 캐리어 고정 방지)
+interface GameCodec {
+    String PROTOCOL = System.getProperty("shooting.protocol", "binary");
+    int STREAM_BUFFER_SIZE = 8192; // BufferedInput/OutputStream 기본 크기
+
+    void write(NetMessage message) throws IOException;
+
+    // 여러 메시지를 이어 쓰고 flush 는 한 번만
+    void writeAll(List<NetMessage> messages) throws IOException;
+
+    NetMessage read() throws IOException;
+
+    // 이 코덱이 붙잡고 있는 메모리 추정치 (버퍼 + 직렬화 핸들 테이블에 묶인 객체)
+    long retainedBytes();
+
+    // 송수신 바이트/메시지 수와 인코딩 시간
+    ConnectionMetrics metrics();
+
+    static GameCodec open(Socket socket) throws IOException {
+        return open(socket, new ConnectionMetrics());
+    }
+
+    static GameCodec open(Socket socket, ConnectionMetrics metrics) throws IOException {
+        if ("serialized".equals(PROTOCOL)) {
+            return new SerializedCodec(socket.getInputStream(), socket.getOutputStream(), SerializedCodec.RESET_INTERVAL, metrics);
+        }
+        return new BinaryCodec(socket.getInputStream(), socket.getOutputStream(), metrics);
+    }
+
+    // 길이 prefix 바이너리 프레임
+    final class BinaryCodec implements GameCodec {
+        private final DataInputStream in;
+        private final OutputStream out;
+        private final GameProtocol.FrameBuffer frameBuffer = new GameProtocol.FrameBuffer();
+        private final ReentrantLock writeLock = new ReentrantLock();
+        private final ConnectionMetrics metrics;
+        private byte[] readBuffer = new byte[256];
+
+        BinaryCodec(InputStream in, OutputStream out) {
+            this(in, out, new ConnectionMetrics());
+        }
+
+        BinaryCodec(InputStream in, OutputStream out, ConnectionMetrics metrics) {
+            this.in = new DataInputStream(new BufferedInputStream(in));
+            this.out = new BufferedOutputStream(out);
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void write(NetMessage message) throws IOException {
+            writeLock.lock();
+            try {
+                writeFrame(message);
+                out.flush();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        @Override
+        public void writeAll(List<NetMessage> messages) throws IOException {
+            writeLock.lock();
+            try {
+                for (NetMessage message : messages) {
+                    writeFrame(message);
+                }
+                out.flush();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        private void writeFrame(NetMessage message) throws IOException {
+            if (message instanceof GameProtocol.SharedFrame shared) {
+                metrics.sent(shared.size(), 0); // 이미 인코딩됨
+                shared.writeTo(out);
+                return;
+            }
+            long start = System.nanoTime();
+            int size = frameBuffer.encodePayload(message);
+            metrics.sent(size, System.nanoTime() - start);
+            frameBuffer.writeFrameTo(out);
+        }
+
+        @Override
+        public NetMessage read() throws IOException {
+            int length = in.readInt();
+            GameProtocol.checkFrameLength(length);
+            if (readBuffer.length < length) {
+                readBuffer = new byte[Math.max(length, readBuffer.length * 2)];
+            }
+            in.readFully(readBuffer, 0, length);
+            metrics.received(4 + length);
+            return GameProtocol.decode(ByteBuffer.wrap(readBuffer, 0, length));
+        }
+
+        @Override
+        public long retainedBytes() {
+            return readBuffer.length + frameBuffer.capacity() + 2L * STREAM_BUFFER_SIZE;
+        }
+
+        @Override
+        public ConnectionMetrics metrics() {
+            return metrics;
+        }
+    }
+
+    // 기존 Java 직렬화 방식 (하위 호환용)
+    // ObjectOutputStream 은 한 번 쓴 객체를 핸들 테이블에 계속 붙잡아 두고, 같은 객체를 다시 쓰면 참조만 보낸다.
+    // 그래서 reset 없이 오래 쓰면 메모리가 계속 늘고, 재사용 객체를 고쳐 보내도 상대는 옛 값을 받는다.
+    // -Dshooting.serialized.resetInterval=N 메시지 N 개마다 reset (기본값 1 = 매번, 0 = 안 함)
+    // 1 이 아니면 N 개 안에서 같은 객체를 고쳐 보낸 변경은 전달되지 않는다
+    // 읽기는 NetMessage 와 그 필드 클래스만 허용하고 깊이/배열 길이를 바이너리 프레임 한도에 맞춰 제한 (나머지는 InvalidClassException)
+    final class SerializedCodec implements GameCodec {
+        static final int RESET_INTERVAL = Integer.getInteger("shooting.serialized.resetInterval", 1);
+        static final int MAX_DEPTH = 8; // GameData → List → Item → Rectangle 보다 넉넉히
+        static final int MAX_ARRAY_LENGTH = 0xFFFF * MissilePool.RECORD; // 바이너리 프레임의 최대 개수 × 레코드 크기
+        // java.lang.Object 는 ArrayList 가 읽을 때 검사하는 Object[] 용
+        static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter(
+                "maxdepth=" + MAX_DEPTH + ";maxarray=" + MAX_ARRAY_LENGTH
+                        + ";GameData;GameData$Item;InputCommand;StateSnapshot;JoinRequest;Missile"
+                        + ";java.awt.Rectangle;java.util.ArrayList;java.lang.String;java.lang.Object;!*");
+
+        private final CountingOutputStream counter;
+        private final CountingInputStream inCounter;
+        private final ObjectOutputStream out;
+        private final ObjectInputStream in;
+        private final ConnectionMetrics metrics;
+        private final ReentrantLock writeLock = new ReentrantLock();
+        private final int resetInterval;
+        private int writesSinceReset;
+        private volatile long bytesAtReset;
+        private long bytesCounted; // metrics 에 반영한 송신 바이트
+
+        SerializedCodec(InputStream in, OutputStream out) throws IOException {
+            this(in, out, RESET_INTERVAL);
+        }
+
+        SerializedCodec(InputStream in, OutputStream out, int resetInterval) throws IOException {
+            this(in, out, resetInterval, new ConnectionMetrics());
+        }
+
+        SerializedCodec(InputStream in, OutputStream out, int resetInterval, ConnectionMetrics metrics) throws IOException {
+            this.resetInterval = resetInterval;
+            this.metrics = metrics;
+            // 버퍼를 카운터 아래에 두어 writeObject 시간에 소켓 쓰기가 섞이지 않게 함
+            this.counter = new CountingOutputStream(new BufferedOutputStream(out, STREAM_BUFFER_SIZE));
+            // 양쪽 모두 스트림 헤더를 먼저 보내야 ObjectInputStream 생성이 막히지 않음
+            this.out = new ObjectOutputStream(counter);
+            this.out.flush();
+            this.inCounter = new CountingInputStream(in);
+            this.in = new ObjectInputStream(inCounter);
+            this.in.setObjectInputFilter(FILTER);
+        }
+
+        @Override
+        public void write(NetMessage message) throws IOException {
+            writeLock.lock();
+            try {
+                writeMessage(message);
+                out.flush();
+                countSentBytes();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        @Override
+        public void writeAll(List<NetMessage> messages) throws IOException {
+            writeLock.lock();
+            try {
+                for (NetMessage message : messages) {
+                    writeMessage(message);
+                }
+                out.flush();
+                countSentBytes();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        private void countSentBytes() {
+            long count = counter.count;
+            metrics.bytesOut.add(count - bytesCounted);
+            bytesCounted = count;
+        }
+
+        private void writeMessage(NetMessage message) throws IOException {
+            if (message instanceof GameProtocol.SharedFrame shared) message = shared.message(); // 바이너리 프레임은 쓸 수 없음
+            long start = System.nanoTime();
+            out.writeObject(message);
+            metrics.sent(0, System.nanoTime() - start); // 바이트는 flush 후 한꺼번에 셈 (ObjectOutputStream 내부 버퍼 때문)
+            if (resetInterval > 0 && ++writesSinceReset >= resetInterval) {
+                out.reset(); // 핸들 테이블 비움 (상대 ObjectInputStream 의 테이블도 함께 비워짐)
+                writesSinceReset = 0;
+                bytesAtReset = counter.count;
+            }
+        }
+
+        // 마지막 reset 이후 쓴 바이트 ≈ 핸들 테이블이 붙잡고 있는 객체 크기
+        @Override
+        public long retainedBytes() {
+            return counter.count - bytesAtReset;
+        }
+
+        @Override
+        public ConnectionMetrics metrics() {
+            return metrics;
+        }
+
+        @Override
+        public NetMessage read() throws IOException {
+            long before = inCounter.count;
+            try {
+                Object object = in.readObject();
+                if (!(object instanceof NetMessage message)) {
+                    throw new InvalidClassException("NetMessage 가 아님: " + (object != null ? object.getClass().getName() : null));
+                }
+                metrics.received((int) (inCounter.count - before));
+                return message;
+            } catch (ClassNotFoundException e) {
+                throw new InvalidClassException(e.getMessage());
+            }
+        }
+    }
+
+    // 읽은 바이트 수를 세는 스트림 (읽는 스레드 하나만 사용)
+    final class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+    }
+
+    // 쓴 바이트 수를 세는 스트림
+    final class CountingOutputStream extends FilterOutputStream {
+        volatile long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
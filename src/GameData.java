@@ -4,8 +4,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
-public class GameData implements Serializable {
+public class GameData implements NetMessage {
     private static final long serialVersionUID = 1L;
+    public static final String ACTION_FIRE = "fire"; // "fire x y dx dy"
 
     private String clientId;
     private Rectangle player;
@@ -136,9 +137,9 @@ public class GameData implements Serializable {
 
         if (!isDuplicate) {
             items.add(item);
-            System.out.println("아이템 추가: " + item.getId());
+            GameLog.debug("아이템 추가", roomId, clientId, item.getId());
         } else {
-            System.out.println("중복 아이템 발견: " + item.getId());
+            GameLog.warn("중복 아이템 발견", roomId, clientId, item.getId());
         }
     }
 
@@ -230,6 +231,10 @@ public class GameData implements Serializable {
             return creationTime;
         }
 
+        public void setCreationTime(long creationTime) {
+            this.creationTime = creationTime;
+        }
+
         @Override
         public String toString() { // 아이템 전달 확인용 코드
             return "Item{" +
@@ -0,0 +1,231 @@
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// 비동기 로거: 호출한 스레드(틱/네트워크)는 링 버퍼에 이벤트를 넣기만 하고 콘솔 출력은 log-writer 스레드가 모아서 한다.
+// 버퍼가 차면 기다리지 않고 버린다 (버린 수는 1초마다 한 줄로 보고, ServerMetrics 에도 노출)
+// message 는 고정 문구로 두고 바뀌는 값은 roomId/clientId/detail 필드로 넘긴다 (같은 문구끼리 초당 건수 제한)
+// detail 이 예외면 콘솔에는 스택 트레이스까지 찍는다 (문자열로 만드는 일은 log-writer 스레드가 함)
+//   -Dshooting.log.level=debug|info|warn|error (기본 info)
+//   -Dshooting.log.bufferSize=8192  -Dshooting.log.rateLimit=20 (같은 문구 초당 최대 건수, 0 이면 제한 없음)
+final class GameLog {
+    enum Level {
+        DEBUG, INFO, WARN, ERROR
+    }
+
+    static final Level LEVEL = parseLevel(System.getProperty("shooting.log.level", "info"));
+    private static final int CAPACITY = Integer.highestOneBit(Math.max(64, Integer.getInteger("shooting.log.bufferSize", 8192)));
+    private static final int RATE_LIMIT = Integer.getInteger("shooting.log.rateLimit", 20);
+    private static final int MAX_LIMITERS = 1024; // 문구에 값을 이어 붙여 부르는 경우 맵이 끝없이 커지지 않게
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+    private static final StringWriter TRACE = new StringWriter(); // 소비자 스레드 전용
+    private static final PrintWriter TRACE_WRITER = new PrintWriter(TRACE);
+
+    private record Event(long millis, Level level, String thread, String message, String roomId, String clientId, Object detail) {
+    }
+
+    // 다중 생산자 / 단일 소비자 링: 생산자는 tail 을 CAS 로 차지한 뒤 칸에 넣고, 소비자는 칸을 비운 다음 head 를 올린다
+    private static final AtomicReferenceArray<Event> SLOTS = new AtomicReferenceArray<>(CAPACITY);
+    private static final AtomicLong TAIL = new AtomicLong();
+    private static final AtomicLong HEAD = new AtomicLong();
+    private static final LongAdder DROPPED = new LongAdder();
+
+    // 문구별 1초 창 건수 제한
+    private static final class Limiter {
+        volatile long windowStart;
+        final AtomicInteger count = new AtomicInteger();
+        final AtomicInteger suppressed = new AtomicInteger();
+        final Level level;
+
+        Limiter(Level level) {
+            this.level = level;
+        }
+    }
+
+    private static final Map<String, Limiter> LIMITERS = new ConcurrentHashMap<>();
+    private static final Thread WRITER = Thread.ofPlatform().name("log-writer").daemon().start(GameLog::writeLoop);
+    private static volatile boolean closing;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            closing = true;
+            LockSupport.unpark(WRITER);
+            try {
+                WRITER.join(1_000);
+            } catch (InterruptedException ignored) {
+            }
+        }, "log-flush"));
+    }
+
+    private GameLog() {
+    }
+
+    static boolean enabled(Level level) {
+        return level.compareTo(LEVEL) >= 0;
+    }
+
+    static void debug(String message, String roomId, String clientId, Object detail) {
+        log(Level.DEBUG, message, roomId, clientId, detail);
+    }
+
+    static void info(String message) {
+        log(Level.INFO, message, null, null, null);
+    }
+
+    static void info(String message, String roomId, String clientId, Object detail) {
+        log(Level.INFO, message, roomId, clientId, detail);
+    }
+
+    static void warn(String message, String roomId, String clientId, Object detail) {
+        log(Level.WARN, message, roomId, clientId, detail);
+    }
+
+    static void error(String message, String roomId, String clientId, Object detail) {
+        log(Level.ERROR, message, roomId, clientId, detail);
+    }
+
+    // 어떤 경우에도 막히지 않음 (꺼진 레벨, 건수 초과, 버퍼 넘침은 그냥 반환)
+    static void log(Level level, String message, String roomId, String clientId, Object detail) {
+        if (!enabled(level)) return;
+        long now = System.currentTimeMillis();
+        if (!admit(level, message, now)) return;
+        publish(new Event(now, level, Thread.currentThread().getName(), message, roomId, clientId, detail));
+    }
+
+    static long dropped() {
+        return DROPPED.sum();
+    }
+
+    // "문구 room=.. client=.. detail" (콘솔과 서버 GUI 로그가 같은 모양)
+    static String format(String message, String roomId, String clientId, Object detail) {
+        StringBuilder line = new StringBuilder(message.length() + 64);
+        appendFields(line, message, roomId, clientId, detail);
+        return line.toString();
+    }
+
+    private static void appendFields(StringBuilder line, String message, String roomId, String clientId, Object detail) {
+        line.append(message);
+        if (roomId != null) line.append(" room=").append(roomId);
+        if (clientId != null) line.append(" client=").append(clientId);
+        if (detail != null) line.append(" detail=\"").append(detail).append('"');
+    }
+
+    private static boolean admit(Level level, String message, long now) {
+        if (RATE_LIMIT <= 0) return true;
+        Limiter limiter = LIMITERS.get(message);
+        if (limiter == null) {
+            if (LIMITERS.size() >= MAX_LIMITERS) return true;
+            limiter = LIMITERS.computeIfAbsent(message, key -> new Limiter(level));
+        }
+        long start = limiter.windowStart;
+        if (now - start >= 1_000) {
+            // 창이 바뀜: 여러 스레드가 동시에 들어와도 count 가 몇 건 더 허용될 뿐이라 CAS 없이 갱신
+            limiter.windowStart = now;
+            limiter.count.set(0);
+        }
+        if (limiter.count.incrementAndGet() <= RATE_LIMIT) return true;
+        limiter.suppressed.incrementAndGet();
+        return false;
+    }
+
+    private static void publish(Event event) {
+        long tail;
+        do {
+            tail = TAIL.get();
+            if (tail - HEAD.get() >= CAPACITY) {
+                DROPPED.increment();
+                return;
+            }
+        } while (!TAIL.compareAndSet(tail, tail + 1));
+        SLOTS.set((int) tail & (CAPACITY - 1), event);
+    }
+
+    private static void writeLoop() {
+        StringBuilder batch = new StringBuilder(8192);
+        long reportedDropped = 0;
+        long nextReport = System.currentTimeMillis() + 1_000;
+        while (true) {
+            boolean done = closing;
+            int drained = drain(batch);
+            long now = System.currentTimeMillis();
+            if (now >= nextReport || done) {
+                nextReport = now + 1_000;
+                reportSuppressed(batch, now);
+                long dropped = DROPPED.sum();
+                if (dropped != reportedDropped) {
+                    appendLine(batch, now, Level.WARN, "log-writer", "로그 버퍼 넘침", null, null, (dropped - reportedDropped) + "건 버림");
+                    reportedDropped = dropped;
+                }
+            }
+            if (!batch.isEmpty()) {
+                System.out.print(batch);
+                System.out.flush();
+                batch.setLength(0);
+            }
+            if (done) return;
+            if (drained == 0) LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+
+    // 소비자 스레드 전용
+    private static int drain(StringBuilder batch) {
+        long head = HEAD.get();
+        int drained = 0;
+        while (drained < CAPACITY) { // 생산자가 계속 넣어도 한 번에 버퍼 한 바퀴까지만 모아 출력
+            int index = (int) head & (CAPACITY - 1);
+            Event event = SLOTS.get(index);
+            if (event == null) break; // 비었거나 생산자가 칸을 차지만 하고 아직 넣지 않음
+            SLOTS.lazySet(index, null);
+            HEAD.lazySet(++head);
+            appendLine(batch, event.millis(), event.level(), event.thread(), event.message(), event.roomId(), event.clientId(), event.detail());
+            drained++;
+        }
+        return drained;
+    }
+
+    private static void reportSuppressed(StringBuilder batch, long now) {
+        for (Map.Entry<String, Limiter> entry : LIMITERS.entrySet()) {
+            int suppressed = entry.getValue().suppressed.getAndSet(0);
+            if (suppressed > 0) {
+                appendLine(batch, now, entry.getValue().level, "log-writer", entry.getKey(), null, null, "같은 로그 " + suppressed + "건 생략");
+            }
+        }
+    }
+
+    private static void appendLine(StringBuilder batch, long millis, Level level, String thread,
+                                   String message, String roomId, String clientId, Object detail) {
+        TIME.formatTo(LocalTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault()), batch);
+        batch.append(' ').append(level.name());
+        for (int i = level.name().length(); i < 5; i++) batch.append(' ');
+        batch.append(" [").append(thread).append("] ");
+        appendFields(batch, message, roomId, clientId, detail);
+        batch.append(System.lineSeparator());
+        if (detail instanceof Throwable error) {
+            error.printStackTrace(TRACE_WRITER);
+            TRACE_WRITER.flush();
+            batch.append(TRACE.getBuffer());
+            TRACE.getBuffer().setLength(0);
+        }
+    }
+
+    private static Level parseLevel(String value) {
+        try {
+            return Level.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return Level.INFO;
+        }
+    }
+}
@@ -0,0 +1,379 @@
+import java.awt.*;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// 바이너리 프레임 포맷
+// 프레임: [int 길이][payload]
+// payload: [byte 버전][byte 메시지 종류][본문]
+// GameData 본문: [byte 플래그][문자열 4개][int hp][플레이어][미사일][아이템][액션]
+// InputCommand 본문: [int 순번][int ack 틱][byte 버튼][byte 속도]
+// StateSnapshot 본문: [int 틱][int 기준 틱][int ack 순번] + 슬롯별 [byte 필드][필드 값...] + [생성 미사일][소멸 미사일 id]
+// JoinRequest 본문: [문자열 지역][int 실력 구간]
+final class GameProtocol {
+    static final int VERSION = 3;
+
+    private static final int TYPE_GAME_DATA = 0;
+    private static final int TYPE_INPUT = 1;
+    private static final int TYPE_SNAPSHOT = 2;
+    private static final int TYPE_JOIN = 3;
+    static final int MAX_FRAME_SIZE = 1 << 20; // 1MB 초과 프레임은 손상된 것으로 간주
+
+    private static final int FLAG_GAME_STARTED = 1;
+    private static final int FLAG_GAME_OVER = 1 << 1;
+    private static final int FLAG_WINNER = 1 << 2;
+    private static final int FLAG_HAS_PLAYER = 1 << 3;
+
+    private GameProtocol() {
+    }
+
+    // payload 인코딩 (길이 prefix 제외)
+    static void encode(NetMessage message, DataOutput out) throws IOException {
+        out.writeByte(VERSION);
+        if (message instanceof InputCommand input) {
+            out.writeByte(TYPE_INPUT);
+            out.writeInt(input.getSequence());
+            out.writeInt(input.getAckTick());
+            out.writeByte(input.getButtons());
+            out.writeByte(input.getSpeed());
+        } else if (message instanceof StateSnapshot snapshot) {
+            out.writeByte(TYPE_SNAPSHOT);
+            encodeSnapshot(snapshot, out);
+        } else if (message instanceof JoinRequest join) {
+            out.writeByte(TYPE_JOIN);
+            writeString(out, join.getRegion());
+            out.writeInt(join.getSkillBucket());
+        } else {
+            out.writeByte(TYPE_GAME_DATA);
+            encodeGameData((GameData) message, out);
+        }
+    }
+
+    // payload 디코딩 (길이 prefix 제외)
+    static NetMessage decode(ByteBuffer in) throws IOException {
+        try {
+            int version = in.get() & 0xFF;
+            if (version != VERSION) {
+                throw new StreamCorruptedException("지원하지 않는 프로토콜 버전: " + version);
+            }
+            int type = in.get() & 0xFF;
+            switch (type) {
+                case TYPE_GAME_DATA:
+                    return decodeGameData(in);
+                case TYPE_INPUT:
+                    return new InputCommand(in.getInt(), in.getInt(), in.get() & 0xFF, in.get() & 0xFF);
+                case TYPE_SNAPSHOT:
+                    return decodeSnapshot(in);
+                case TYPE_JOIN:
+                    return new JoinRequest(readString(in), in.getInt());
+                default:
+                    throw new StreamCorruptedException("알 수 없는 메시지 종류: " + type);
+            }
+        } catch (java.nio.BufferUnderflowException e) {
+            throw new StreamCorruptedException("잘린 프레임");
+        } catch (RuntimeException e) {
+            // 손상된 입력은 항상 IOException 으로 (연결만 끊고 스레드는 살림)
+            throw new StreamCorruptedException("잘못된 프레임: " + e);
+        }
+    }
+
+    private static void encodeSnapshot(StateSnapshot snapshot, DataOutput out) throws IOException {
+        out.writeInt(snapshot.getTick());
+        out.writeInt(snapshot.getBaseTick());
+        out.writeInt(snapshot.getAckSequence());
+        for (int slot = 0; slot < WorldState.SLOTS; slot++) {
+            int fields = snapshot.getFields(slot);
+            out.writeByte(fields);
+            if ((fields & StateSnapshot.FIELD_ID) != 0) writeString(out, snapshot.getClientId(slot));
+            if ((fields & StateSnapshot.FIELD_X) != 0) out.writeShort(snapshot.getX(slot));
+            if ((fields & StateSnapshot.FIELD_Y) != 0) out.writeShort(snapshot.getY(slot));
+            if ((fields & StateSnapshot.FIELD_HP) != 0) out.writeByte(snapshot.getHp(slot));
+        }
+
+        int[] spawned = snapshot.getSpawned();
+        writeCount(out, spawned.length / MissilePool.RECORD);
+        for (int offset = 0; offset < spawned.length; offset += MissilePool.RECORD) {
+            out.writeInt(spawned[offset]);
+            out.writeByte(spawned[offset + 1]);
+            out.writeInt(spawned[offset + 2]);
+            out.writeShort(spawned[offset + 3]);
+            out.writeShort(spawned[offset + 4]);
+            out.writeByte(spawned[offset + 5]);
+            out.writeByte(spawned[offset + 6]);
+        }
+        int[] despawned = snapshot.getDespawned();
+        writeCount(out, despawned.length);
+        for (int id : despawned) {
+            out.writeInt(id);
+        }
+    }
+
+    private static StateSnapshot decodeSnapshot(ByteBuffer in) throws StreamCorruptedException {
+        int tick = in.getInt();
+        int baseTick = in.getInt();
+        int ackSequence = in.getInt();
+        int[] fieldsBySlot = new int[WorldState.SLOTS];
+        String[] clientIds = new String[WorldState.SLOTS];
+        int[] x = new int[WorldState.SLOTS];
+        int[] y = new int[WorldState.SLOTS];
+        int[] hp = new int[WorldState.SLOTS];
+        for (int slot = 0; slot < WorldState.SLOTS; slot++) {
+            int fields = in.get() & 0xFF;
+            fieldsBySlot[slot] = fields;
+            if ((fields & StateSnapshot.FIELD_ID) != 0) clientIds[slot] = readString(in);
+            if ((fields & StateSnapshot.FIELD_X) != 0) x[slot] = in.getShort();
+            if ((fields & StateSnapshot.FIELD_Y) != 0) y[slot] = in.getShort();
+            if ((fields & StateSnapshot.FIELD_HP) != 0) hp[slot] = in.get();
+        }
+
+        int[] spawned = new int[(in.getShort() & 0xFFFF) * MissilePool.RECORD];
+        for (int offset = 0; offset < spawned.length; offset += MissilePool.RECORD) {
+            spawned[offset] = in.getInt();
+            spawned[offset + 1] = in.get();
+            spawned[offset + 2] = in.getInt();
+            spawned[offset + 3] = in.getShort();
+            spawned[offset + 4] = in.getShort();
+            spawned[offset + 5] = in.get();
+            spawned[offset + 6] = in.get();
+        }
+        int[] despawned = new int[in.getShort() & 0xFFFF];
+        for (int i = 0; i < despawned.length; i++) {
+            despawned[i] = in.getInt();
+        }
+        return new StateSnapshot(tick, baseTick, ackSequence, fieldsBySlot, clientIds, x, y, hp, spawned, despawned);
+    }
+
+    private static void encodeGameData(GameData data, DataOutput out) throws IOException {
+        int flags = 0;
+        if (data.isGameStarted()) flags |= FLAG_GAME_STARTED;
+        if (data.isGameOver()) flags |= FLAG_GAME_OVER;
+        if (data.isWinner()) flags |= FLAG_WINNER;
+        if (data.getPlayer() != null) flags |= FLAG_HAS_PLAYER;
+
+        out.writeByte(flags);
+        writeString(out, data.getClientId());
+        writeString(out, data.getRoomId());
+        writeString(out, data.getPlayerRole());
+        writeString(out, data.getItemRemoved());
+        out.writeInt(data.getHp());
+
+        Rectangle player = data.getPlayer();
+        if (player != null) {
+            out.writeShort(player.x);
+            out.writeShort(player.y);
+            out.writeShort(player.width);
+            out.writeShort(player.height);
+        }
+
+        List<Missile> missiles = data.getMissiles();
+        int missileCount = missiles != null ? missiles.size() : 0;
+        writeCount(out, missileCount);
+        for (int i = 0; i < missileCount; i++) {
+            Missile missile = missiles.get(i);
+            out.writeShort(missile.getX());
+            out.writeShort(missile.getY());
+            out.writeByte(missile.getDirectionX());
+            out.writeByte(missile.getDirectionY());
+            out.writeBoolean(missile.isProcessed());
+        }
+
+        List<GameData.Item> items = data.getItems();
+        int itemCount = items != null ? items.size() : 0;
+        writeCount(out, itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            GameData.Item item = items.get(i);
+            writeString(out, item.getId());
+            writeString(out, item.getType());
+            out.writeShort(item.getX());
+            out.writeShort(item.getY());
+            out.writeShort(item.getBounds().width);
+            out.writeShort(item.getBounds().height);
+            out.writeLong(item.getCreationTime());
+            out.writeBoolean(item.isProcessed());
+        }
+
+        List<String> actions = data.getActions();
+        int actionCount = actions != null ? actions.size() : 0;
+        writeCount(out, actionCount);
+        for (int i = 0; i < actionCount; i++) {
+            writeString(out, actions.get(i));
+        }
+    }
+
+    private static GameData decodeGameData(ByteBuffer in) throws StreamCorruptedException {
+        int flags = in.get() & 0xFF;
+        String clientId = readString(in);
+        String roomId = readString(in);
+        String playerRole = readString(in);
+        String itemRemoved = readString(in);
+        int hp = in.getInt();
+
+        Rectangle player = null;
+        if ((flags & FLAG_HAS_PLAYER) != 0) {
+            player = new Rectangle(in.getShort(), in.getShort(), in.getShort(), in.getShort());
+        }
+
+        int missileCount = in.getShort() & 0xFFFF;
+        List<Missile> missiles = new ArrayList<>(missileCount);
+        for (int i = 0; i < missileCount; i++) {
+            Missile missile = new Missile(in.getShort(), in.getShort(), in.get(), in.get());
+            missile.setProcessed(in.get() != 0);
+            missiles.add(missile);
+        }
+
+        int itemCount = in.getShort() & 0xFFFF;
+        List<GameData.Item> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            String id = readString(in);
+            String type = readString(in);
+            Rectangle bounds = new Rectangle(in.getShort(), in.getShort(), in.getShort(), in.getShort());
+            GameData.Item item = new GameData.Item(id, bounds, type);
+            item.setCreationTime(in.getLong());
+            item.setProcessed(in.get() != 0);
+            items.add(item);
+        }
+
+        int actionCount = in.getShort() & 0xFFFF;
+        List<String> actions = new ArrayList<>(actionCount);
+        for (int i = 0; i < actionCount; i++) {
+            actions.add(readString(in));
+        }
+
+        GameData data = new GameData(clientId, null, missiles, items, roomId, playerRole, hp);
+        data.setPlayer(player);
+        data.setActions(actions);
+        data.setItemRemoved(itemRemoved);
+        data.setGameStarted((flags & FLAG_GAME_STARTED) != 0);
+        data.setGameOver((flags & FLAG_GAME_OVER) != 0);
+        data.setWinner((flags & FLAG_WINNER) != 0);
+        return data;
+    }
+
+    // 길이가 유효한지 확인 (음수 또는 과도한 길이는 연결 종료)
+    static void checkFrameLength(int length) throws IOException {
+        if (length <= 0 || length > MAX_FRAME_SIZE) {
+            throw new StreamCorruptedException("잘못된 프레임 길이: " + length);
+        }
+    }
+
+    // 개수는 부호 없는 2바이트, 넘치면 잘라 보내지 않고 IOException (연결 종료)
+    private static void writeCount(DataOutput out, int count) throws IOException {
+        if (count > 0xFFFF) {
+            throw new IOException("목록이 너무 김: " + count);
+        }
+        out.writeShort(count);
+    }
+
+    // null 은 길이 -1 로 표현, 읽는 쪽이 길이를 부호 있는 2바이트로 읽으므로 Short.MAX_VALUE 바이트까지만
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeShort(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IOException("문자열이 너무 김: " + bytes.length + "바이트");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) throws StreamCorruptedException {
+        int length = in.getShort();
+        if (length < 0) return null;
+        if (length > in.remaining()) {
+            throw new StreamCorruptedException("잘못된 문자열 길이: " + length);
+        }
+        String value;
+        if (in.hasArray()) {
+            value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    // 연결마다 재사용하는 인코딩 버퍼
+    static final class FrameBuffer extends ByteArrayOutputStream {
+        private final DataOutputStream data = new DataOutputStream(this);
+
+        FrameBuffer() {
+            super(256);
+        }
+
+        // payload 를 인코딩하고 [길이][payload] 를 out 에 기록
+        void writeFrame(NetMessage message, OutputStream out) throws IOException {
+            encodePayload(message);
+            writeFrameTo(out);
+        }
+
+        // 인코딩만 하고 프레임 전체 크기([길이] 4바이트 포함)를 반환, 이어서 writeFrameTo 로 기록 (인코딩 시간을 따로 재는 용도)
+        int encodePayload(NetMessage message) throws IOException {
+            reset();
+            encode(message, data);
+            return 4 + count;
+        }
+
+        void writeFrameTo(OutputStream out) throws IOException {
+            writeInt(out, count);
+            out.write(buf, 0, count);
+        }
+
+        int capacity() {
+            return buf.length;
+        }
+
+        // NIO 전송용: [길이][payload] 를 담은 새 버퍼 반환
+        ByteBuffer encodeFrame(NetMessage message) throws IOException {
+            reset();
+            encode(message, data);
+            ByteBuffer frame = ByteBuffer.allocate(4 + count);
+            frame.putInt(count).put(buf, 0, count).flip();
+            return frame;
+        }
+
+        // 여러 연결에 그대로 보낼 프레임으로 한 번만 인코딩
+        SharedFrame encodeShared(NetMessage message) throws IOException {
+            ByteBuffer frame = encodeFrame(message);
+            return new SharedFrame(frame.array(), message);
+        }
+
+        private static void writeInt(OutputStream out, int value) throws IOException {
+            out.write(value >>> 24);
+            out.write(value >>> 16);
+            out.write(value >>> 8);
+            out.write(value);
+        }
+    }
+
+    // 이미 인코딩된 [길이][payload] (만든 뒤 바뀌지 않으므로 여러 송신 대기열이 같은 배열을 공유)
+    // 바이너리 코덱은 다시 인코딩하지 않고 바이트를 그대로 쓰고, 직렬화 코덱은 원본 message 를 쓴다
+    static final class SharedFrame implements NetMessage {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] frame;
+        private final NetMessage message;
+
+        private SharedFrame(byte[] frame, NetMessage message) {
+            this.frame = frame;
+            this.message = message;
+        }
+
+        NetMessage message() {
+            return message;
+        }
+
+        int size() {
+            return frame.length;
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            out.write(frame, 0, frame.length);
+        }
+    }
+}
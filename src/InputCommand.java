@@ -0,0 +1,43 @@
+// 입력 전용 프로토콜에서 클라이언트가 서버 틱마다 올리는 입력
+// 위치나 미사일 대신 눌린 키와 순번만 보낸다
+public class InputCommand implements NetMessage {
+    private static final long serialVersionUID = 1L;
+
+    public static final int UP = 1;
+    public static final int DOWN = 1 << 1;
+    public static final int LEFT = 1 << 2;
+    public static final int RIGHT = 1 << 3;
+    public static final int FIRE = 1 << 4;
+
+    private final int sequence;  // 입력 순번 (서버가 처리한 마지막 순번을 스냅샷에 담아 돌려줌)
+    private final int ackTick;   // 클라이언트가 마지막으로 받은 스냅샷 틱 (델타 기준)
+    private final int buttons;
+    private final int speed;     // 아이템 효과가 반영된 이동 속도
+
+    public InputCommand(int sequence, int ackTick, int buttons, int speed) {
+        this.sequence = sequence;
+        this.ackTick = ackTick;
+        this.buttons = buttons;
+        this.speed = speed;
+    }
+
+    public int getSequence() {
+        return sequence;
+    }
+
+    public int getAckTick() {
+        return ackTick;
+    }
+
+    public int getButtons() {
+        return buttons;
+    }
+
+    public int getSpeed() {
+        return speed;
+    }
+
+    public boolean isPressed(int button) {
+        return (buttons & button) != 0;
+    }
+}
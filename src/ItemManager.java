@@ -0,0 +1,110 @@
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// 방 하나의 아이템 (서버 권위)
+// 생성 주기마다 울타리 위/아래에 하나씩 만들고, 수명이 지나면 없애고, 플레이어와 겹치면 줍게 한다.
+// 아이템 ID → 아이템 맵이라 조회/제거가 상수 시간이고, 줍기는 맵에서 꺼낸 쪽 한 명만 성공한다.
+// 시간은 시뮬레이션 틱 기준 밀리초 (Item.creationTime 도 같은 기준), RoomSimulation 과 같은 락 안에서만 호출
+final class ItemManager {
+    static final int SIZE = 30;
+    static final String SPEED_UP = "speed";
+    static final String SPEED_DOWN = "speedDown";
+    static final long SPAWN_INTERVAL_MILLIS = 9_000;
+    static final long LIFETIME_MILLIS = 8_000;
+    private static final int FENCE_TOP = 260;    // 클라이언트 울타리 영역 (y 260~340)
+    private static final int FENCE_BOTTOM = 340;
+
+    // slot: 주운 플레이어 슬롯, 수명이 다해 사라졌으면 -1
+    record Removal(GameData.Item item, int slot) {
+    }
+
+    private final Map<String, GameData.Item> items = new LinkedHashMap<>();
+    private final List<GameData.Item> spawned = new ArrayList<>();
+    private final List<Removal> removed = new ArrayList<>();
+    private final SplittableRandom random;
+    private long nextSpawnAt = SPAWN_INTERVAL_MILLIS;
+    private int nextItemId = 1;
+
+    ItemManager(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    // 한 틱 진행: 수명 만료 → 줍기 판정 → 생성 주기면 새 아이템
+    // 결과는 drainSpawned / drainRemoved 로 꺼냄
+    void step(long now, Rectangle[] players, int[] hp) {
+        if (!items.isEmpty()) {
+            for (Iterator<GameData.Item> it = items.values().iterator(); it.hasNext(); ) {
+                GameData.Item item = it.next();
+                if (now - item.getCreationTime() >= LIFETIME_MILLIS) {
+                    it.remove();
+                    removed.add(new Removal(item, -1));
+                    continue;
+                }
+                int slot = toucher(item, players, hp);
+                if (slot >= 0) {
+                    it.remove(); // 같은 틱에 둘 다 닿아도 먼저 판정된 슬롯 하나만 주움
+                    removed.add(new Removal(item, slot));
+                }
+            }
+        }
+        if (now >= nextSpawnAt) {
+            nextSpawnAt = now + SPAWN_INTERVAL_MILLIS;
+            spawn(now, random.nextInt(FENCE_TOP - SIZE));
+            spawn(now, FENCE_BOTTOM + random.nextInt(RoomSimulation.HEIGHT - FENCE_BOTTOM - SIZE));
+        }
+    }
+
+    // 생성 주기(9초)가 수명(8초)보다 길어 아이템은 많아야 2개, 플레이어 2명과의 4번 비교라 격자를 쓰지 않음
+    private static int toucher(GameData.Item item, Rectangle[] players, int[] hp) {
+        for (int slot = 0; slot < players.length; slot++) {
+            Rectangle player = players[slot];
+            if (hp[slot] > 0 && Collision.intersects(player.x, player.y, player.width, player.height,
+                    item.getX(), item.getY(), SIZE, SIZE)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void spawn(long now, int y) {
+        int x = random.nextInt(RoomSimulation.WIDTH - SIZE);
+        String type = random.nextBoolean() ? SPEED_UP : SPEED_DOWN;
+        GameData.Item item = new GameData.Item("item-" + nextItemId++, new Rectangle(x, y, SIZE, SIZE), type);
+        item.setCreationTime(now);
+        items.put(item.getId(), item);
+        spawned.add(item);
+    }
+
+    // 마지막으로 꺼낸 뒤 생긴 아이템 (없으면 빈 목록, 새 리스트라 그대로 전송해도 됨)
+    List<GameData.Item> drainSpawned() {
+        if (spawned.isEmpty()) return List.of();
+        List<GameData.Item> result = new ArrayList<>(spawned);
+        spawned.clear();
+        return result;
+    }
+
+    // 아직 꺼내지 않은 제거 목록 (읽기 전용으로만 사용)
+    List<Removal> pendingRemoved() {
+        return removed;
+    }
+
+    List<Removal> drainRemoved() {
+        if (removed.isEmpty()) return List.of();
+        List<Removal> result = new ArrayList<>(removed);
+        removed.clear();
+        return result;
+    }
+
+    GameData.Item get(String itemId) {
+        return items.get(itemId);
+    }
+
+    int size() {
+        return items.size();
+    }
+}
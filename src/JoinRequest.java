@@ -0,0 +1,21 @@
+// 플레이어가 접속 직후 첫 프레임으로 보내는 참가 요청 (매칭 조건)
+// 서버는 MatchCriteria.fromJoinRequest 로 허용된 지역/실력 구간 범위에 맞춰 읽는다
+public class JoinRequest implements NetMessage {
+    private static final long serialVersionUID = 1L;
+
+    private final String region;     // "" 이면 지역 무관
+    private final int skillBucket;
+
+    public JoinRequest(String region, int skillBucket) {
+        this.region = region;
+        this.skillBucket = skillBucket;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public int getSkillBucket() {
+        return skillBucket;
+    }
+}
@@ -0,0 +1,135 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// 봇 수천 개로 서버에 부하를 거는 드라이버 (봇마다 가상 스레드 두 개)
+// 실행: java -cp <클래스 경로> LoadDriver
+//   -Dshooting.load.host=localhost -Dshooting.load.port=12345
+//   -Dshooting.load.bots=1000          봇 수 (2명씩 방이 채워짐)
+//   -Dshooting.load.rampPerSecond=200  초당 새로 띄우는 봇 수
+//   -Dshooting.load.duration=60        측정 시간(초), 램프업 포함
+//   -Dshooting.load.inputRate=60       봇당 초당 입력 수
+//   -Dshooting.load.fireRate=2         봇당 초당 발사 수
+//   -Dshooting.load.reportInterval=5   중간 보고 주기(초)
+//   -Dshooting.load.spectators=0       관전 봇 수 (봇과 같은 속도로 띄움, 가장 인기 있는 경기로 몰림)
+//   -Dshooting.load.spectatorPort=12346
+//   -Dshooting.load.regions=kr,jp      봇에 차례로 나눠 줄 매칭 지역 (기본 없음, 서버의 -Dshooting.match.regions 와 맞출 것)
+// 연결 지연(접속 ~ 초기 데이터), 입력 → 스냅샷 ack 왕복 시간 백분위, 송수신 처리량, 끊김 수,
+// 관전 봇이 있으면 관전 프레임 수신량과 같은 프레임을 관전자끼리 받은 시각 차이(송출 분산)를 출력
+final class LoadDriver {
+    record Settings(int inputRate, double fireRate, MatchCriteria criteria) {
+    }
+
+    static final class Stats {
+        final LatencyHistogram connectLatency = new LatencyHistogram();
+        final LatencyHistogram roundTrip = new LatencyHistogram();
+        final LongAdder connected = new LongAdder();
+        final LongAdder connectFailures = new LongAdder();
+        final LongAdder disconnects = new LongAdder();
+        final LongAdder gamesFinished = new LongAdder();
+        final LongAdder sent = new LongAdder();
+        final LongAdder received = new LongAdder();
+        final LongAdder spectatorsConnected = new LongAdder();
+        final LongAdder spectatorDisconnects = new LongAdder();
+        final LongAdder spectatorFrames = new LongAdder();
+        final LongAdder spectatorEvents = new LongAdder();
+        final LongAdder spectatedGames = new LongAdder();
+        final LatencyHistogram fanOutSpread = new LatencyHistogram();
+        final ConcurrentHashMap<Long, Long> firstArrival = new ConcurrentHashMap<>(); // (방, 틱) → 가장 먼저 받은 시각
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String host = System.getProperty("shooting.load.host", "localhost");
+        int port = Integer.getInteger("shooting.load.port", 12345);
+        int bots = Integer.getInteger("shooting.load.bots", 1000);
+        int spectators = Integer.getInteger("shooting.load.spectators", 0);
+        int spectatorPort = Integer.getInteger("shooting.load.spectatorPort", 12346);
+        int rampPerSecond = Math.max(1, Integer.getInteger("shooting.load.rampPerSecond", 200));
+        long durationNanos = Integer.getInteger("shooting.load.duration", 60) * 1_000_000_000L;
+        long reportNanos = Math.max(1, Integer.getInteger("shooting.load.reportInterval", 5)) * 1_000_000_000L;
+        int inputRate = Math.max(1, Integer.getInteger("shooting.load.inputRate", RoomSimulation.TICK_RATE));
+        double fireRate = Double.parseDouble(System.getProperty("shooting.load.fireRate", "2"));
+        String[] regions = System.getProperty("shooting.load.regions", "").split(",");
+
+        System.out.printf("부하 테스트: %s:%d 봇 %d개, 관전 봇 %d개, 초당 %d개씩 시작, %d초%n",
+                host, port, bots, spectators, rampPerSecond, durationNanos / 1_000_000_000L);
+
+        Stats stats = new Stats();
+        List<BotClient> clients = new ArrayList<>(bots);
+        List<SpectatorBot> viewers = new ArrayList<>(spectators);
+        List<Thread> threads = new ArrayList<>(bots + spectators);
+        long start = System.nanoTime();
+        long end = start + durationNanos;
+        long nextReport = start + reportNanos;
+        long lastSent = 0, lastReceived = 0, lastReportAt = start;
+        LatencyHistogram lastRoundTrip = new LatencyHistogram();
+
+        while (System.nanoTime() < end) {
+            // 램프업: 경과 시간만큼 봇 추가
+            long elapsed = System.nanoTime() - start;
+            long target = Math.min(bots, elapsed * rampPerSecond / 1_000_000_000L + 1);
+            while (clients.size() < target) {
+                Settings settings = new Settings(inputRate, fireRate,
+                        new MatchCriteria(regions[clients.size() % regions.length], 0));
+                BotClient client = new BotClient(host, port, settings, stats);
+                clients.add(client);
+                threads.add(Thread.ofVirtual().name("bot-" + clients.size()).start(client::run));
+            }
+            long viewerTarget = Math.min(spectators, elapsed * rampPerSecond / 1_000_000_000L + 1);
+            while (viewers.size() < viewerTarget) {
+                SpectatorBot viewer = new SpectatorBot(host, spectatorPort, stats);
+                viewers.add(viewer);
+                threads.add(Thread.ofVirtual().name("spectator-" + viewers.size()).start(viewer::run));
+            }
+
+            long now = System.nanoTime();
+            if (now >= nextReport) {
+                long sent = stats.sent.sum(), received = stats.received.sum();
+                double seconds = (now - lastReportAt) / 1e9;
+                // 송수신량처럼 RTT 도 이번 구간 것만 (누적이면 부하가 오른 뒤의 지연이 앞 구간에 묻힌다)
+                LatencyHistogram roundTrip = stats.roundTrip.copy();
+                LatencyHistogram window = roundTrip.since(lastRoundTrip);
+                System.out.printf("[%3ds] 봇 %d, 송신 %.0f/s, 수신 %.0f/s, RTT p50 %s p99 %s, 끊김 %d%n",
+                        (now - start) / 1_000_000_000L, clients.size(), (sent - lastSent) / seconds, (received - lastReceived) / seconds,
+                        millis(window.percentile(50)), millis(window.percentile(99)), stats.disconnects.sum());
+                lastSent = sent;
+                lastReceived = received;
+                lastRoundTrip = roundTrip;
+                lastReportAt = now;
+                nextReport += reportNanos;
+            }
+            Thread.sleep(10);
+        }
+
+        for (BotClient client : clients) client.stop();
+        for (SpectatorBot viewer : viewers) viewer.stop();
+        for (Thread thread : threads) thread.join(5_000);
+        report(stats, clients.size(), viewers.size(), (System.nanoTime() - start) / 1e9);
+    }
+
+    private static void report(Stats stats, int bots, int spectators, double seconds) {
+        System.out.println("==== 결과 ====");
+        System.out.printf("봇 %d개, %.1f초%n", bots, seconds);
+        System.out.printf("연결 성공 %d, 연결 실패 %d, 비정상 끊김 %d, 끝난 게임 %d%n",
+                stats.connected.sum(), stats.connectFailures.sum(), stats.disconnects.sum(), stats.gamesFinished.sum());
+        System.out.printf("처리량: 송신 %.0f msg/s, 수신 %.0f msg/s%n", stats.sent.sum() / seconds, stats.received.sum() / seconds);
+        printPercentiles("연결 지연", stats.connectLatency);
+        printPercentiles("입력 왕복", stats.roundTrip);
+        if (spectators == 0) return;
+        System.out.printf("관전 봇 %d개: 연결 %d, 끊김 %d, 관전한 경기 %d, 상태 프레임 %.0f/s (관전자당 %.1f/s), 이벤트 %d%n",
+                spectators, stats.spectatorsConnected.sum(), stats.spectatorDisconnects.sum(), stats.spectatedGames.sum(),
+                stats.spectatorFrames.sum() / seconds, stats.spectatorFrames.sum() / seconds / spectators, stats.spectatorEvents.sum());
+        printPercentiles("송출 분산", stats.fanOutSpread);
+    }
+
+    private static void printPercentiles(String name, LatencyHistogram histogram) {
+        System.out.printf("%s (%d건): p50 %s, p90 %s, p99 %s, p99.9 %s, max %s%n", name, histogram.count(),
+                millis(histogram.percentile(50)), millis(histogram.percentile(90)), millis(histogram.percentile(99)),
+                millis(histogram.percentile(99.9)), millis(histogram.max()));
+    }
+
+    private static String millis(long micros) {
+        return String.format("%.2fms", micros / 1000.0);
+    }
+}
@@ -0,0 +1,36 @@
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+// 매칭 조건: 같은 조건끼리만 한 방에 배정 (지역 태그, 실력 구간)
+// 플레이어는 접속 후 첫 프레임으로 참가 요청(JoinRequest)을 보내고, 서버는 그 조건으로 방을 배정한다
+// 조건을 쓰지 않거나 참가 요청 없이 바로 다른 프레임을 보낸 클라이언트는 모두 ANY 로 매칭된다
+// 초기 데이터를 먼저 받아야 말을 거는 기존 GameData 프로토콜 클라이언트를 위해 첫 프레임은 JOIN_TIMEOUT_MILLIS 까지만 기다리고,
+// 그 안에 아무것도 오지 않으면 ANY 로 매칭해 초기 데이터를 보낸다
+//   -Dshooting.match.joinTimeout=1000 (밀리초)
+// 대기열 키가 끝없이 늘지 않도록 지역은 서버에 설정된 것만, 실력 구간은 정해진 범위 안으로 받는다
+//   -Dshooting.match.regions=kr,jp,us (기본 없음, 목록에 없는 지역은 "")  -Dshooting.match.skillBuckets=10
+record MatchCriteria(String region, int skillBucket) {
+    static final MatchCriteria ANY = new MatchCriteria("", 0);
+    static final Set<String> REGIONS = Set.copyOf(new HashSet<>(Arrays.asList(System.getProperty("shooting.match.regions", "").split(",")))); // "" 포함, 중복 허용
+    static final int SKILL_BUCKETS = Math.max(1, Integer.getInteger("shooting.match.skillBuckets", 10));
+    static final int JOIN_TIMEOUT_MILLIS = Math.max(1, Integer.getInteger("shooting.match.joinTimeout", 1000));
+
+    // 대기열 키
+    String key() {
+        return region + "/" + skillBucket;
+    }
+
+    // 참가 요청 프레임
+    JoinRequest joinRequest() {
+        return new JoinRequest(region, skillBucket);
+    }
+
+    // 첫 프레임의 참가 요청에서 조건을 읽음, 참가 요청이 아니면 null
+    static MatchCriteria fromJoinRequest(NetMessage message) {
+        if (!(message instanceof JoinRequest request)) return null;
+        String region = request.getRegion() != null && REGIONS.contains(request.getRegion()) ? request.getRegion() : "";
+        int skillBucket = Math.max(0, Math.min(request.getSkillBucket(), SKILL_BUCKETS - 1));
+        return region.isEmpty() && skillBucket == 0 ? ANY : new MatchCriteria(region, skillBucket);
+    }
+}
@@ -0,0 +1,518 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+// 끝난 경기 요약 저장소 (서버 하나에 수백만 건)
+// 요약은 고정 크기 레코드로 세그먼트 파일(segment-000000.hist, 세그먼트당 65536건)에 끝난 순서대로 덧붙이고,
+// 파일은 메모리 매핑으로만 읽고 쓴다 (힙에는 세그먼트 매핑 목록만 있고 레코드는 필요할 때만 꺼냄).
+// 색인
+//   방 ID / 클라이언트 ID: 64비트 해시 → 가장 최근 레코드 (rooms.idx, clients.idx, 매핑된 열린 주소 해시 표)
+//     레코드마다 같은 방, 같은 클라이언트의 바로 전 레코드 번호를 적어 두므로 "최근 N 경기" 는 사슬을 N 번 따라가면 된다.
+//   시간: 레코드가 끝 시각 순이라 이진 탐색
+// 서버에서는 Room.checkGameOver 가 submit 하고 history-writer 스레드가 덧붙인다 (방 락/틱을 막지 않음)
+//   -Dshooting.history.dir=경로 (기본 꺼짐)
+// 조회: java MatchHistory <경로> player <clientId> [N] | room <roomId> [N] | scan [시작 ms] [끝 ms]
+final class MatchHistory implements Closeable {
+    static final Path DIR = System.getProperty("shooting.history.dir", "").isEmpty()
+            ? null : Path.of(System.getProperty("shooting.history.dir"));
+    static final int SEGMENT_RECORDS = 1 << 16;
+    static final int RECORD_SIZE = 152;
+    private static final int MAGIC = 0x53474853; // "SGHS"
+    private static final int VERSION = 1;
+    private static final int SEGMENT_HEADER = 64; // MAGIC, VERSION, 레코드 수
+    private static final int SEGMENT_COUNT_OFFSET = 8;
+    private static final int ID_BYTES = 36;       // UUID 문자열 길이, 넘치면 잘라서 저장
+
+    // 레코드 구성 (빅 엔디언). 이전 레코드 번호는 +1 해서 저장 (0 = 없음, 새 파일은 0 으로 채워져 있음)
+    private static final int START = 0;           // long 시작 시각 (ms, 녹화 파일 이름과 같음)
+    private static final int END = 8;             // long 끝난 시각 (ms, 덧붙인 순서대로 늘어남)
+    private static final int TICKS = 16;          // int 경기 틱 수
+    private static final int PREV_ROOM = 20;      // int 같은 방의 이전 레코드
+    private static final int PREV_CLIENT = 24;    // int x2 슬롯별 같은 클라이언트의 이전 레코드
+    private static final int WINNER = 32;         // byte 승자 슬롯
+    private static final int HP = 33;             // byte x2 슬롯별 남은 HP
+    private static final int ROOM_ID = 36;        // byte 길이 + 36 bytes
+    private static final int CLIENT_ID = ROOM_ID + 1 + ID_BYTES; // (byte 길이 + 36 bytes) x2
+
+    record Summary(long sequence, String roomId, String[] clientIds, long startMillis, long endMillis,
+                   int ticks, int winner, int[] hp) {
+    }
+
+    private final Path dir;
+    private final boolean readOnly;
+    private volatile MappedByteBuffer[] segments = new MappedByteBuffer[0]; // 새 세그먼트가 생길 때만 복사해서 교체
+    private volatile long count;
+    private long lastEndMillis;
+    private final HashIndex rooms;
+    private final HashIndex clients;
+
+    // 서버용: 게임 종료 시 요약을 넘겨받아 덧붙이는 스레드 (녹화와 같은 방식)
+    private static final BlockingQueue<Summary> PENDING = new LinkedBlockingQueue<>();
+
+    static {
+        if (DIR != null) Thread.ofPlatform().name("history-writer").daemon().start(MatchHistory::writeLoop);
+    }
+
+    private MatchHistory(Path dir, boolean readOnly) throws IOException {
+        this.dir = dir;
+        this.readOnly = readOnly;
+        if (!readOnly) Files.createDirectories(dir);
+        List<MappedByteBuffer> mapped = new ArrayList<>();
+        for (int segment = 0; Files.exists(segmentPath(segment)); segment++) {
+            mapped.add(map(segmentPath(segment), segmentBytes(), readOnly));
+        }
+        segments = mapped.toArray(new MappedByteBuffer[0]);
+        if (segments.length > 0) {
+            MappedByteBuffer last = segments[segments.length - 1];
+            if (last.getInt(0) != MAGIC || last.getInt(4) != VERSION) throw new StreamCorruptedException("기록 파일이 아님: " + dir);
+            count = (long) (segments.length - 1) * SEGMENT_RECORDS + last.getInt(SEGMENT_COUNT_OFFSET);
+            if (count > 0) lastEndMillis = record(count - 1).getLong(recordOffset(count - 1) + END);
+        }
+        rooms = HashIndex.open(dir.resolve("rooms.idx"), readOnly);
+        clients = HashIndex.open(dir.resolve("clients.idx"), readOnly);
+        if (!readOnly) {
+            // 색인은 레코드보다 늦게 쓰이므로 죽기 직전에 덧붙인 레코드는 다시 색인
+            long from = Math.min(rooms.indexedUpTo(), clients.indexedUpTo());
+            for (long sequence = from; sequence < count; sequence++) index(sequence);
+        }
+    }
+
+    static MatchHistory open(Path dir) throws IOException {
+        return new MatchHistory(dir, false);
+    }
+
+    // 서버가 쓰고 있는 저장소도 열 수 있음 (색인이 못 따라온 최근 레코드는 조회 시 직접 훑음)
+    static MatchHistory openReadOnly(Path dir) throws IOException {
+        return new MatchHistory(dir, true);
+    }
+
+    // 방 락 안에서 불러도 됨 (대기열에 넣기만 함, 배열은 그대로 보관), 꺼져 있으면 무시
+    static void submit(String roomId, String[] clientIds, long startMillis, int ticks, int winner, int[] hp) {
+        if (DIR == null) return;
+        PENDING.add(new Summary(-1, roomId, clientIds, startMillis, System.currentTimeMillis(), ticks, winner, hp));
+    }
+
+    private static void writeLoop() {
+        MatchHistory history;
+        try {
+            history = open(DIR);
+        } catch (IOException e) {
+            GameLog.error("경기 기록 저장소 열기 실패", null, null, e.getMessage());
+            return;
+        }
+        while (true) {
+            try {
+                history.append(PENDING.take());
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException e) {
+                GameLog.warn("경기 기록 저장 실패", null, null, e.getMessage());
+            }
+        }
+    }
+
+    long size() {
+        return count;
+    }
+
+    // 덧붙인 레코드 번호 반환
+    synchronized long append(Summary summary) throws IOException {
+        if (readOnly) throw new IOException("읽기 전용");
+        long sequence = count;
+        int segment = (int) (sequence / SEGMENT_RECORDS);
+        if (segment == segments.length) {
+            MappedByteBuffer created = map(segmentPath(segment), segmentBytes(), false);
+            created.putInt(0, MAGIC).putInt(4, VERSION);
+            MappedByteBuffer[] grown = Arrays.copyOf(segments, segment + 1);
+            grown[segment] = created;
+            segments = grown;
+        }
+        ByteBuffer buffer = segments[segment];
+        int at = recordOffset(sequence);
+        lastEndMillis = Math.max(lastEndMillis, summary.endMillis()); // 시간 이진 탐색을 위해 순서 유지
+        buffer.putLong(at + START, summary.startMillis());
+        buffer.putLong(at + END, lastEndMillis);
+        buffer.putInt(at + TICKS, summary.ticks());
+        buffer.putInt(at + PREV_ROOM, (int) rooms.get(key(idBytes(summary.roomId()))));
+        buffer.put(at + WINNER, (byte) summary.winner());
+        putId(buffer, at + ROOM_ID, summary.roomId());
+        for (int slot = 0; slot < 2; slot++) {
+            buffer.putInt(at + PREV_CLIENT + 4 * slot, (int) clients.get(key(idBytes(summary.clientIds()[slot]))));
+            buffer.put(at + HP + slot, (byte) summary.hp()[slot]);
+            putId(buffer, at + CLIENT_ID + (1 + ID_BYTES) * slot, summary.clientIds()[slot]);
+        }
+        buffer.putInt(SEGMENT_COUNT_OFFSET, (int) (sequence % SEGMENT_RECORDS) + 1);
+        count = sequence + 1;
+        index(sequence);
+        return sequence;
+    }
+
+    private void index(long sequence) throws IOException {
+        ByteBuffer buffer = record(sequence);
+        int at = recordOffset(sequence);
+        rooms.put(key(rawId(buffer, at + ROOM_ID)), sequence + 1);
+        for (int slot = 0; slot < 2; slot++) {
+            clients.put(key(rawId(buffer, at + CLIENT_ID + (1 + ID_BYTES) * slot)), sequence + 1);
+        }
+        rooms.setIndexedUpTo(sequence + 1);
+        clients.setIndexedUpTo(sequence + 1);
+    }
+
+    Summary get(long sequence) {
+        ByteBuffer buffer = record(sequence);
+        int at = recordOffset(sequence);
+        return new Summary(sequence, getId(buffer, at + ROOM_ID),
+                new String[]{getId(buffer, at + CLIENT_ID), getId(buffer, at + CLIENT_ID + 1 + ID_BYTES)},
+                buffer.getLong(at + START), buffer.getLong(at + END), buffer.getInt(at + TICKS), buffer.get(at + WINNER),
+                new int[]{buffer.get(at + HP), buffer.get(at + HP + 1)});
+    }
+
+    // 클라이언트의 최근 경기 (최신순, 최대 limit 건)
+    List<Summary> lastMatchesOf(String clientId, int limit) {
+        byte[] id = idBytes(clientId);
+        List<Summary> result = new ArrayList<>(Math.min(limit, 64));
+        long sequence = latest(clients, id, true);
+        while (sequence >= 0 && result.size() < limit) {
+            ByteBuffer buffer = record(sequence);
+            int at = recordOffset(sequence);
+            int slot = idEquals(buffer, at + CLIENT_ID, id) ? 0 : idEquals(buffer, at + CLIENT_ID + 1 + ID_BYTES, id) ? 1 : -1;
+            if (slot < 0) break; // 해시 충돌
+            result.add(get(sequence));
+            sequence = buffer.getInt(at + PREV_CLIENT + 4 * slot) - 1L;
+        }
+        return result;
+    }
+
+    // 방의 최근 경기 (최신순, 최대 limit 건)
+    List<Summary> lastMatchesIn(String roomId, int limit) {
+        byte[] id = idBytes(roomId);
+        List<Summary> result = new ArrayList<>(Math.min(limit, 64));
+        long sequence = latest(rooms, id, false);
+        while (sequence >= 0 && result.size() < limit) {
+            ByteBuffer buffer = record(sequence);
+            int at = recordOffset(sequence);
+            if (!idEquals(buffer, at + ROOM_ID, id)) break;
+            result.add(get(sequence));
+            sequence = buffer.getInt(at + PREV_ROOM) - 1L;
+        }
+        return result;
+    }
+
+    // 가장 최근 레코드, 없으면 -1 (색인보다 뒤에 덧붙은 레코드가 있으면 거기서 먼저 찾음)
+    private long latest(HashIndex index, byte[] id, boolean client) {
+        long indexed;
+        synchronized (this) {
+            indexed = Math.min(index.indexedUpTo(), count);
+            for (long sequence = count - 1; sequence >= indexed; sequence--) {
+                ByteBuffer buffer = record(sequence);
+                int at = recordOffset(sequence);
+                if (client ? idEquals(buffer, at + CLIENT_ID, id) || idEquals(buffer, at + CLIENT_ID + 1 + ID_BYTES, id)
+                        : idEquals(buffer, at + ROOM_ID, id)) {
+                    return sequence;
+                }
+            }
+            return index.get(key(id)) - 1;
+        }
+    }
+
+    // endMillis 가 from 이상인 첫 레코드 번호
+    long firstEndingAtOrAfter(long fromMillis) {
+        long low = 0, high = count;
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (record(middle).getLong(recordOffset(middle) + END) < fromMillis) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    // [fromMillis, toMillis) 에 끝난 경기를 차례로 방문. Cursor 는 재사용되므로 밖에 보관하지 말 것
+    void scan(long fromMillis, long toMillis, Consumer<Cursor> visitor) {
+        Cursor cursor = new Cursor();
+        long end = count;
+        for (long sequence = firstEndingAtOrAfter(fromMillis); sequence < end; sequence++) {
+            cursor.moveTo(sequence);
+            if (cursor.endMillis() >= toMillis) break;
+            visitor.accept(cursor);
+        }
+    }
+
+    // 레코드 하나를 가리키는 재사용 뷰 (필드를 매핑된 파일에서 바로 읽음, 문자열은 요청할 때만 만듦)
+    final class Cursor {
+        private ByteBuffer buffer;
+        private int at;
+        private long sequence;
+
+        private void moveTo(long sequence) {
+            this.sequence = sequence;
+            this.buffer = record(sequence);
+            this.at = recordOffset(sequence);
+        }
+
+        long sequence() {
+            return sequence;
+        }
+
+        long startMillis() {
+            return buffer.getLong(at + START);
+        }
+
+        long endMillis() {
+            return buffer.getLong(at + END);
+        }
+
+        int ticks() {
+            return buffer.getInt(at + TICKS);
+        }
+
+        int winner() {
+            return buffer.get(at + WINNER);
+        }
+
+        int hp(int slot) {
+            return buffer.get(at + HP + slot);
+        }
+
+        String roomId() {
+            return getId(buffer, at + ROOM_ID);
+        }
+
+        String clientId(int slot) {
+            return getId(buffer, at + CLIENT_ID + (1 + ID_BYTES) * slot);
+        }
+
+        Summary toSummary() {
+            return get(sequence);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!readOnly) {
+            for (MappedByteBuffer segment : segments) segment.force();
+            rooms.force();
+            clients.force();
+        }
+    }
+
+    private ByteBuffer record(long sequence) {
+        return segments[(int) (sequence / SEGMENT_RECORDS)];
+    }
+
+    private static int recordOffset(long sequence) {
+        return SEGMENT_HEADER + (int) (sequence % SEGMENT_RECORDS) * RECORD_SIZE;
+    }
+
+    private Path segmentPath(int segment) {
+        return dir.resolve(String.format("segment-%06d.hist", segment));
+    }
+
+    private static long segmentBytes() {
+        return SEGMENT_HEADER + (long) SEGMENT_RECORDS * RECORD_SIZE;
+    }
+
+    private static MappedByteBuffer map(Path path, long size, boolean readOnly) throws IOException {
+        try (FileChannel channel = readOnly ? FileChannel.open(path, StandardOpenOption.READ)
+                : FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE, 0,
+                    readOnly ? Math.min(size, channel.size()) : size);
+        }
+    }
+
+    // 저장할 때와 같은 방식으로 잘라낸 UTF-8
+    private static byte[] idBytes(String id) {
+        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+        return bytes.length <= ID_BYTES ? bytes : Arrays.copyOf(bytes, ID_BYTES);
+    }
+
+    private static void putId(ByteBuffer buffer, int at, String id) {
+        byte[] bytes = idBytes(id);
+        buffer.put(at, (byte) bytes.length);
+        buffer.put(at + 1, bytes);
+    }
+
+    private static byte[] rawId(ByteBuffer buffer, int at) {
+        byte[] bytes = new byte[buffer.get(at)];
+        buffer.get(at + 1, bytes);
+        return bytes;
+    }
+
+    private static String getId(ByteBuffer buffer, int at) {
+        return new String(rawId(buffer, at), StandardCharsets.UTF_8);
+    }
+
+    private static boolean idEquals(ByteBuffer buffer, int at, byte[] id) {
+        if (buffer.get(at) != id.length) return false;
+        for (int i = 0; i < id.length; i++) {
+            if (buffer.get(at + 1 + i) != id[i]) return false;
+        }
+        return true;
+    }
+
+    // 잘라 저장된 ID 끼리 같은 키가 되도록 잘린 바이트로 해시 (FNV-1a 64, 0 은 빈 칸 표시라 피함)
+    private static long key(byte[] id) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : id) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        return hash == 0 ? 1 : hash;
+    }
+
+    // 매핑된 열린 주소 해시 표: 칸 = (long 키, long 값), 키 0 은 빈 칸. 절반 넘게 차면 두 배 크기 파일로 다시 만들어 교체
+    private static final class HashIndex {
+        private static final int HEADER = 32;  // MAGIC, 칸 수, 항목 수, 색인한 레코드 수(long)
+        private static final int SLOT = 16;
+        private static final int INITIAL_SLOTS = 1 << 16;
+
+        private final Path path;
+        private final boolean readOnly;
+        private MappedByteBuffer map;
+        private int slots;
+        private int size;
+
+        private HashIndex(Path path, boolean readOnly) {
+            this.path = path;
+            this.readOnly = readOnly;
+        }
+
+        static HashIndex open(Path path, boolean readOnly) throws IOException {
+            HashIndex index = new HashIndex(path, readOnly);
+            if (Files.exists(path)) {
+                index.map = map(path, Files.size(path), readOnly);
+                index.slots = index.map.getInt(4);
+                index.size = index.map.getInt(8);
+            } else if (!readOnly) {
+                index.map = create(path, INITIAL_SLOTS);
+                index.slots = INITIAL_SLOTS;
+            }
+            return index;
+        }
+
+        private static MappedByteBuffer create(Path path, int slots) throws IOException {
+            Files.deleteIfExists(path);
+            MappedByteBuffer created = map(path, HEADER + (long) slots * SLOT, false);
+            created.putInt(0, MAGIC).putInt(4, slots);
+            return created;
+        }
+
+        long indexedUpTo() {
+            return map == null ? 0 : map.getLong(16);
+        }
+
+        void setIndexedUpTo(long records) {
+            map.putLong(16, records);
+        }
+
+        // 없으면 0
+        long get(long key) {
+            if (slots == 0) return 0;
+            int mask = slots - 1;
+            for (int i = (int) mix(key) & mask; ; i = (i + 1) & mask) {
+                long found = map.getLong(HEADER + i * SLOT);
+                if (found == 0) return 0;
+                if (found == key) return map.getLong(HEADER + i * SLOT + 8);
+            }
+        }
+
+        void put(long key, long value) throws IOException {
+            if ((size + 1) * 2L > slots) grow();
+            if (insert(map, slots, key, value)) map.putInt(8, ++size);
+        }
+
+        // 새 키면 true
+        private static boolean insert(ByteBuffer map, int slots, long key, long value) {
+            int mask = slots - 1;
+            for (int i = (int) mix(key) & mask; ; i = (i + 1) & mask) {
+                int at = HEADER + i * SLOT;
+                long found = map.getLong(at);
+                if (found == 0 || found == key) {
+                    map.putLong(at, key).putLong(at + 8, value);
+                    return found == 0;
+                }
+            }
+        }
+
+        private void grow() throws IOException {
+            int larger = slots * 2;
+            Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+            MappedByteBuffer grown = create(temporary, larger);
+            for (int i = 0; i < slots; i++) {
+                long key = map.getLong(HEADER + i * SLOT);
+                if (key != 0) insert(grown, larger, key, map.getLong(HEADER + i * SLOT + 8));
+            }
+            grown.putInt(8, size).putLong(16, indexedUpTo());
+            grown.force();
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            map = grown;
+            slots = larger;
+        }
+
+        void force() {
+            if (map != null && !readOnly) map.force();
+        }
+
+        private static long mix(long key) {
+            key ^= key >>> 33;
+            key *= 0xff51afd7ed558ccdL;
+            return key ^ key >>> 33;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("사용법: java MatchHistory <경로> player <clientId> [N] | room <roomId> [N] | scan [시작 ms] [끝 ms]");
+            return;
+        }
+        try (MatchHistory history = openReadOnly(Path.of(args[0]))) {
+            switch (args[1]) {
+                case "player", "room" -> {
+                    if (args.length < 3) throw new IllegalArgumentException("ID 가 필요함");
+                    int limit = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+                    long start = System.nanoTime();
+                    List<Summary> matches = "player".equals(args[1])
+                            ? history.lastMatchesOf(args[2], limit) : history.lastMatchesIn(args[2], limit);
+                    long micros = (System.nanoTime() - start) / 1_000;
+                    for (Summary match : matches) {
+                        System.out.printf("#%d %tF %<tT 방 %s, %s vs %s, %d틱, 승자 %s, HP %d/%d%n",
+                                match.sequence(), match.endMillis(), match.roomId(), match.clientIds()[0], match.clientIds()[1],
+                                match.ticks(), match.winner() == 0 ? "Player1" : "Player2", match.hp()[0], match.hp()[1]);
+                    }
+                    System.out.printf("%d건 (전체 %d건 중), %dus%n", matches.size(), history.size(), micros);
+                }
+                case "scan" -> {
+                    long from = args.length > 2 ? Long.parseLong(args[2]) : 0;
+                    long to = args.length > 3 ? Long.parseLong(args[3]) : Long.MAX_VALUE;
+                    long[] totals = new long[4]; // 경기 수, 틱 합, Player1 승, 승자 남은 HP 합
+                    long start = System.nanoTime();
+                    history.scan(from, to, match -> {
+                        totals[0]++;
+                        totals[1] += match.ticks();
+                        if (match.winner() == 0) totals[2]++;
+                        totals[3] += match.hp(match.winner());
+                    });
+                    long millis = (System.nanoTime() - start) / 1_000_000;
+                    long matches = Math.max(totals[0], 1);
+                    System.out.printf("경기 %d건, 평균 %.1f초, Player1 승률 %.1f%%, 승자 평균 HP %.2f (%dms)%n",
+                            totals[0], totals[1] / (double) matches / RoomSimulation.TICK_RATE,
+                            totals[2] * 100.0 / matches, totals[3] / (double) matches, millis);
+                }
+                default -> throw new IllegalArgumentException("알 수 없는 명령: " + args[1]);
+            }
+        }
+    }
+}
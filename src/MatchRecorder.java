@@ -0,0 +1,276 @@
+import java.awt.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 경기 녹화: 틱마다 적용한 입력과 그 결과 이벤트를 작은 이진 로그로 남긴다 (MatchReplay 로 다시 시뮬레이션해 검증)
+// 틱 스레드는 방 락 안에서 버퍼에 몇 바이트 넣기만 하고, 파일 쓰기는 match-writer 스레드 하나가 FileChannel 로 모아서 한다.
+// -Dshooting.record.dir=경로 를 주면 모든 방의 경기를 <방 ID>-<시작 시각>-<번호>.match 로 녹화 (기본 꺼짐)
+//
+// 형식 (빅 엔디언, 문자열 = short 길이 + UTF-8)
+//   헤더: MAGIC int, VERSION byte, TICK_RATE byte, seed long, 시작 시각 long(ms), 방 ID, 클라이언트 ID x2
+//   기록: 첫 바이트가 종류
+//     0x00~0x3F INPUT        slot << 5 | buttons (applyInput 한 번)
+//     0x40      STEP         step() 한 번
+//     0x41      REPEAT       varint n: 바로 앞 묶음(앞 STEP 다음부터 그 STEP 까지)을 n 번 더 반복
+//     0x4C|slot FIRE         int x, int y, byte dx, byte dy (기존 프로토콜 발사, 위치는 서버 기준)
+//     0x50|slot HP           byte hp (맞아서 바뀐 HP)
+//     0x52      ITEM_REMOVE  문자열 id, byte 주운 슬롯 (-1 = 수명 만료)
+//     0x53      ITEM_SPAWN   문자열 id, byte 종류 (0 speed, 1 speedDown), short x, short y
+//     0x54      GAME_OVER    byte 승자 슬롯
+//     0x55      STATE        int 상태 체크섬 (1초마다, 위치/속도/미사일이 어긋났는지 확인용)
+//     0x5F      END
+//   이벤트(HP~STATE) 는 해당 STEP 바로 뒤에 한 덩어리로 온다 (encodeEvents).
+//   키를 누르고 있거나 가만히 있는 동안은 틱 묶음이 같으므로 REPEAT 하나로 줄어 분당 수 KB 수준
+final class MatchRecorder {
+    static final int MAGIC = 0x53475231; // "SGR1"
+    static final byte VERSION = 2; // 2: 기존 프로토콜 이동도 INPUT 으로 기록 (MOVE 없음)
+    static final int OP_INPUT_MAX = 0x3F;
+    static final byte OP_STEP = 0x40;
+    static final byte OP_REPEAT = 0x41;
+    static final int OP_FIRE = 0x4C;
+    static final int OP_HP = 0x50;
+    static final byte OP_ITEM_REMOVE = 0x52;
+    static final byte OP_ITEM_SPAWN = 0x53;
+    static final byte OP_GAME_OVER = 0x54;
+    static final byte OP_STATE = 0x55;
+    static final byte OP_END = 0x5F;
+    static final String EXTENSION = ".match";
+
+    static final Path DIR = System.getProperty("shooting.record.dir", "").isEmpty()
+            ? null : Path.of(System.getProperty("shooting.record.dir"));
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final int FLUSH_BYTES = 4 * 1024;
+    private static final int FLUSH_TICKS = 10 * RoomSimulation.TICK_RATE; // 서버가 죽어도 최근 10초 안쪽만 잃음
+
+    // 파일로 넘길 조각 (분당 몇 개뿐이라 대기열 크기는 제한하지 않음)
+    private record Chunk(MatchRecorder owner, ByteBuffer data, boolean last) {
+    }
+
+    private static final BlockingQueue<Chunk> PENDING = new LinkedBlockingQueue<>();
+    private static final AtomicInteger SEQUENCE = new AtomicInteger(); // 같은 방에서 같은 밀리초에 다시 시작해도 파일 이름이 겹치지 않게
+
+    static {
+        if (DIR != null) Thread.ofPlatform().name("match-writer").daemon().start(MatchRecorder::writeLoop);
+    }
+
+    private final String roomId;
+    private final Path path;
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final int[] lastHp = {RoomSimulation.MAX_HP, RoomSimulation.MAX_HP};
+    private int unitStart;          // 아직 끝나지 않은 틱 묶음의 시작 위치
+    private byte[] lastUnit = new byte[64];
+    private int lastUnitLength = -1;
+    private int repeats;            // lastUnit 과 같아서 쓰지 않고 센 묶음 수
+    private int ticksSinceFlush;
+    private FileChannel channel;    // match-writer 스레드 전용
+    private boolean writeFailed;    // match-writer 스레드 전용, 한 번 실패하면 이 경기의 나머지는 버림
+
+    private MatchRecorder(String roomId, Path path) {
+        this.roomId = roomId;
+        this.path = path;
+    }
+
+    // 녹화가 꺼져 있으면 null
+    static MatchRecorder start(String roomId, long seed, long now, String[] clientIds) {
+        if (DIR == null) return null;
+        MatchRecorder recorder = new MatchRecorder(roomId, DIR.resolve(roomId + "-" + now + "-" + SEQUENCE.incrementAndGet() + EXTENSION));
+        ByteBuffer out = recorder.buffer;
+        out.putInt(MAGIC).put(VERSION).put((byte) RoomSimulation.TICK_RATE).putLong(seed).putLong(now);
+        putString(out, roomId);
+        for (String clientId : clientIds) putString(out, clientId);
+        recorder.unitStart = out.position();
+        return recorder;
+    }
+
+    // 이하 방 락 안에서 호출
+
+    void input(int slot, int buttons) {
+        ensure(1);
+        buffer.put((byte) (slot << 5 | buttons & 0x1F));
+    }
+
+    void fire(int slot, int x, int y, int directionX, int directionY) {
+        ensure(11);
+        buffer.put((byte) (OP_FIRE | slot)).putInt(x).putInt(y)
+                .put((byte) Integer.signum(directionX)).put((byte) Integer.signum(directionY));
+    }
+
+    // simulation.step() 직후, 이번 틱에 꺼낸 아이템 제거/생성 목록과 함께 호출
+    void step(RoomSimulation simulation, List<ItemManager.Removal> removed, List<GameData.Item> spawned) {
+        ensure(1);
+        buffer.put(OP_STEP);
+        int length = buffer.position() - unitStart;
+        if (length == lastUnitLength && Arrays.equals(buffer.array(), unitStart, unitStart + length, lastUnit, 0, length)) {
+            buffer.position(unitStart); // 앞 묶음과 같으면 세기만 함
+            repeats++;
+        } else {
+            if (lastUnit.length < length) lastUnit = new byte[Math.max(length, lastUnit.length * 2)];
+            System.arraycopy(buffer.array(), unitStart, lastUnit, 0, length);
+            lastUnitLength = length;
+            if (repeats > 0) {
+                // 센 반복을 이번 묶음 앞에 끼워 넣음
+                buffer.position(unitStart);
+                putRepeat();
+                ensure(length);
+                buffer.put(lastUnit, 0, length);
+            }
+        }
+        unitStart = buffer.position();
+        ensure(eventBytes(removed, spawned));
+        encodeEvents(buffer, lastHp, simulation, removed, spawned);
+
+        if (buffer.position() >= FLUSH_BYTES || ++ticksSinceFlush >= FLUSH_TICKS) handOff(false);
+    }
+
+    // 경기 종료/중단 시 한 번
+    void finish() {
+        if (repeats > 0) {
+            byte[] partial = Arrays.copyOfRange(buffer.array(), unitStart, buffer.position());
+            buffer.position(unitStart);
+            putRepeat();
+            ensure(partial.length);
+            buffer.put(partial);
+        }
+        ensure(1);
+        buffer.put(OP_END);
+        handOff(true);
+    }
+
+    // step() 뒤 이벤트 덩어리 (녹화와 리플레이가 같은 코드로 만들어 바이트 단위로 비교)
+    static void encodeEvents(ByteBuffer out, int[] lastHp, RoomSimulation simulation,
+                             List<ItemManager.Removal> removed, List<GameData.Item> spawned) {
+        for (int slot = 0; slot < lastHp.length; slot++) {
+            int hp = simulation.getHp(slot);
+            if (hp != lastHp[slot]) {
+                out.put((byte) (OP_HP | slot)).put((byte) hp);
+                lastHp[slot] = hp;
+            }
+        }
+        for (int i = 0; i < removed.size(); i++) {
+            ItemManager.Removal removal = removed.get(i);
+            out.put(OP_ITEM_REMOVE);
+            putString(out, removal.item().getId());
+            out.put((byte) removal.slot());
+        }
+        for (int i = 0; i < spawned.size(); i++) {
+            GameData.Item item = spawned.get(i);
+            out.put(OP_ITEM_SPAWN);
+            putString(out, item.getId());
+            out.put((byte) (ItemManager.SPEED_UP.equals(item.getType()) ? 0 : 1));
+            out.putShort((short) item.getX()).putShort((short) item.getY());
+        }
+        int winner = simulation.getWinner();
+        if (winner >= 0) out.put(OP_GAME_OVER).put((byte) winner);
+        if (simulation.getTick() % RoomSimulation.TICK_RATE == 0) out.put(OP_STATE).putInt(checksum(simulation));
+    }
+
+    // 이벤트로 드러나지 않는 상태(위치, 속도, 미사일)의 해시
+    static int checksum(RoomSimulation simulation) {
+        int hash = simulation.getTick();
+        for (int slot = 0; slot < 2; slot++) {
+            Rectangle player = simulation.getPlayer(slot);
+            hash = 31 * (31 * (31 * hash + player.x) + player.y) + simulation.getSpeed(slot);
+        }
+        MissilePool missiles = simulation.getMissiles();
+        for (int i = 0; i < missiles.size(); i++) {
+            hash = 31 * (31 * hash + missiles.x[i]) + missiles.y[i];
+        }
+        return hash;
+    }
+
+    // encodeEvents 가 쓸 수 있는 최대 바이트 (아이템 ID 는 짧은 ASCII)
+    static int eventBytes(List<ItemManager.Removal> removed, List<GameData.Item> spawned) {
+        return 16 + 64 * (removed.size() + spawned.size());
+    }
+
+    static void putString(ByteBuffer out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.putShort((short) bytes.length).put(bytes);
+    }
+
+    static String getString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getShort() & 0xFFFF];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static int getVarint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+    }
+
+    private void putRepeat() {
+        ensure(6);
+        buffer.put(OP_REPEAT);
+        int value = repeats;
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+        repeats = 0;
+    }
+
+    private void ensure(int bytes) {
+        if (buffer.remaining() >= bytes) return;
+        ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+        buffer.flip();
+        larger.put(buffer);
+        buffer = larger;
+    }
+
+    // 끝난 묶음까지를 파일 쓰기 스레드로 넘김 (진행 중인 묶음은 REPEAT 비교용으로 남김)
+    private void handOff(boolean last) {
+        ByteBuffer full = buffer;
+        int keepFrom = last ? full.position() : unitStart;
+        buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        buffer.put(full.array(), keepFrom, full.position() - keepFrom);
+        unitStart = 0;
+        ticksSinceFlush = 0;
+        full.position(keepFrom).flip();
+        PENDING.add(new Chunk(this, full, last));
+    }
+
+    private static void writeLoop() {
+        while (true) {
+            Chunk chunk;
+            try {
+                chunk = PENDING.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            MatchRecorder owner = chunk.owner();
+            if (owner.writeFailed) continue;
+            try {
+                if (owner.channel == null) {
+                    Files.createDirectories(DIR);
+                    owner.channel = FileChannel.open(owner.path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                }
+                ByteBuffer data = chunk.data();
+                while (data.hasRemaining()) owner.channel.write(data);
+                if (chunk.last()) owner.channel.close();
+            } catch (IOException e) {
+                GameLog.warn("경기 녹화 쓰기 실패", owner.roomId, null, e.getMessage());
+                owner.writeFailed = true;
+                try {
+                    if (owner.channel != null) owner.channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+}
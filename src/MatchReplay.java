@@ -0,0 +1,145 @@
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// 녹화 파일(MatchRecorder) 을 화면/네트워크 없이 RoomSimulation 으로 다시 돌려 보고,
+// 매 틱 나온 이벤트(HP, 아이템, 게임 종료, 1초마다 상태 체크섬)가 녹화된 바이트와 같은지 확인한다 (분쟁 확인, Room 로직 회귀 검사)
+// 실행: java -cp <게임 클래스> MatchReplay <파일.match>... (하나라도 어긋나면 종료 코드 1)
+public class MatchReplay {
+    // divergence: 처음 어긋난 지점 설명, 끝까지 같으면 null
+    record Result(String roomId, String[] clientIds, long seed, long startMillis, int ticks,
+                  int[] hp, int winner, boolean ended, String divergence) {
+    }
+
+    private final RoomSimulation simulation;
+    private final int[] lastHp = {RoomSimulation.MAX_HP, RoomSimulation.MAX_HP};
+    private ByteBuffer expected = ByteBuffer.allocate(256); // 마지막 step() 뒤 이벤트, 녹화와 비교 전까지 남아 있음
+    private ByteBuffer lastUnit;  // REPEAT 로 다시 실행할 묶음
+    private boolean ended;
+    private String divergence;
+
+    private MatchReplay(long seed) {
+        this.simulation = new RoomSimulation(seed);
+        expected.flip();
+    }
+
+    static Result replay(ByteBuffer data) throws StreamCorruptedException {
+        if (data.remaining() < 4 || data.getInt() != MatchRecorder.MAGIC) throw new StreamCorruptedException("녹화 파일이 아님");
+        int version = data.get();
+        int tickRate = data.get();
+        if (version != MatchRecorder.VERSION || tickRate != RoomSimulation.TICK_RATE) {
+            throw new StreamCorruptedException("지원하지 않는 녹화 (버전 " + version + ", 틱 " + tickRate + ")");
+        }
+        long seed = data.getLong();
+        long startMillis = data.getLong();
+        String roomId = MatchRecorder.getString(data);
+        String[] clientIds = {MatchRecorder.getString(data), MatchRecorder.getString(data)};
+
+        MatchReplay replay = new MatchReplay(seed);
+        replay.run(data);
+        if (replay.divergence == null && replay.expected.hasRemaining()) {
+            replay.diverge("마지막 틱 이벤트가 기록에 없음");
+        }
+        RoomSimulation simulation = replay.simulation;
+        return new Result(roomId, clientIds, seed, startMillis, simulation.getTick(),
+                new int[]{simulation.getHp(0), simulation.getHp(1)}, simulation.getWinner(), replay.ended, replay.divergence);
+    }
+
+    // END 나 어긋남을 만나면 false
+    private boolean run(ByteBuffer in) {
+        int unitStart = in.position();
+        while (in.hasRemaining()) {
+            int at = in.position();
+            int op = in.get() & 0xFF;
+            if (op == MatchRecorder.OP_REPEAT) {
+                int count = MatchRecorder.getVarint(in);
+                if (lastUnit == null) return diverge("반복할 틱이 없음");
+                for (int i = 0; i < count; i++) {
+                    if (!run(lastUnit.duplicate())) return false;
+                }
+                unitStart = in.position();
+                continue;
+            }
+            if (op >= MatchRecorder.OP_HP && op <= MatchRecorder.OP_STATE) {
+                // 이벤트 덩어리 전체를 다시 계산한 것과 비교
+                int length = expected.remaining();
+                if (length == 0 || in.limit() - at < length || !in.slice(at, length).equals(expected)) {
+                    return diverge("녹화된 이벤트와 다름");
+                }
+                in.position(at + length);
+                expected.position(expected.limit());
+                continue;
+            }
+            if (expected.hasRemaining()) return diverge("다시 계산한 이벤트가 기록에 없음");
+
+            if (op <= MatchRecorder.OP_INPUT_MAX) {
+                simulation.applyInput(op >> 5, op & 0x1F);
+            } else if (op == MatchRecorder.OP_STEP) {
+                step();
+                lastUnit = in.slice(unitStart, in.position() - unitStart);
+                unitStart = in.position();
+            } else if ((op & ~1) == MatchRecorder.OP_FIRE) {
+                simulation.fire(op & 1, in.getInt(), in.getInt(), in.get(), in.get());
+            } else if (op == MatchRecorder.OP_END) {
+                ended = true;
+                return false;
+            } else {
+                return diverge("알 수 없는 기록 0x" + Integer.toHexString(op));
+            }
+        }
+        return true;
+    }
+
+    private void step() {
+        simulation.step();
+        ItemManager items = simulation.getItems();
+        List<ItemManager.Removal> removed = items.drainRemoved();
+        List<GameData.Item> spawned = items.drainSpawned();
+        int size = MatchRecorder.eventBytes(removed, spawned);
+        if (expected.capacity() < size) expected = ByteBuffer.allocate(size);
+        expected.clear();
+        MatchRecorder.encodeEvents(expected, lastHp, simulation, removed, spawned);
+        expected.flip();
+    }
+
+    private boolean diverge(String reason) {
+        divergence = "틱 " + simulation.getTick() + ": " + reason;
+        return false;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("사용법: java MatchReplay <파일.match>...");
+            return;
+        }
+        boolean allMatched = true;
+        for (String arg : args) {
+            Path path = Path.of(arg);
+            Result result;
+            long start = System.nanoTime();
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                result = replay(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            } catch (StreamCorruptedException e) {
+                System.out.printf("%s: %s%n", path, e.getMessage());
+                allMatched = false;
+                continue;
+            }
+            double elapsedMillis = (System.nanoTime() - start) / 1e6;
+            double matchSeconds = result.ticks() / (double) RoomSimulation.TICK_RATE;
+
+            String outcome;
+            if (result.divergence() != null) outcome = "어긋남 - " + result.divergence();
+            else if (result.winner() >= 0) outcome = (result.winner() == 0 ? "Player1" : "Player2") + " 승, 일치";
+            else outcome = result.ended() ? "중단, 일치" : "기록이 중간에 끝남, 여기까지 일치";
+            System.out.printf("%s: 방 %s, %d틱 (%.1f초), HP %d/%d, %s, 재생 %.1fms (%.0f배속)%n",
+                    path.getFileName(), result.roomId(), result.ticks(), matchSeconds,
+                    result.hp()[0], result.hp()[1], outcome, elapsedMillis, matchSeconds * 1000 / Math.max(elapsedMillis, 0.001));
+            if (result.divergence() != null) allMatched = false;
+        }
+        if (!allMatched) System.exit(1);
+    }
+}
@@ -0,0 +1,41 @@
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+// 방 배정: 매칭 조건별로 자리가 남은 방을 락 없는 큐에 보관하고 앞에서 꺼내 채운다
+// 전체 방을 훑지 않으므로 접속 한 번은 O(1) 이고, 서로 다른 조건의 접속은 경쟁하지 않는다.
+// 큐에는 이미 찼거나 닫힌 방이 남아 있을 수 있는데, 꺼낼 때 addPlayer 가 실패하면 버린다.
+final class Matchmaker {
+    private final ConcurrentHashMap<String, ConcurrentLinkedQueue<Room>> waitingRooms = new ConcurrentHashMap<>();
+    private final Supplier<Room> roomFactory;
+
+    Matchmaker(Supplier<Room> roomFactory) {
+        this.roomFactory = roomFactory;
+    }
+
+    // 자리가 남은 방에 넣고, 없으면 새 방을 만들어 대기열에 등록
+    Room join(PlayerConnection client, MatchCriteria criteria) {
+        String key = criteria.key();
+        ConcurrentLinkedQueue<Room> queue = waitingRooms.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>());
+        Room room;
+        while ((room = queue.poll()) != null) {
+            if (room.addPlayer(client)) {
+                if (!room.isFull()) queue.offer(room);
+                return room;
+            }
+        }
+
+        // 동시에 두 접속이 빈 큐를 보면 방이 두 개 생기지만, 둘 다 대기열에 들어가 다음 접속이 채운다
+        room = roomFactory.get();
+        room.setMatchKey(key);
+        room.addPlayer(client);
+        queue.offer(room);
+        return room;
+    }
+
+    // 플레이어가 나가 자리가 생긴 방을 다시 대기열에 등록
+    void requeue(Room room) {
+        if (room.isFull() || room.isEmpty()) return;
+        waitingRooms.computeIfAbsent(room.getMatchKey(), k -> new ConcurrentLinkedQueue<>()).offer(room);
+    }
+}
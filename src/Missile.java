@@ -2,8 +2,10 @@ import java.awt.*;
 import java.io.Serializable;
 
 public class Missile implements Serializable {
+    public static final int SPEED = 10; // 틱당 이동 거리
+
     private int x, y;
-    private int speed = 10;
+    private int speed = SPEED;
     private int directionX, directionY;
     private int width = 15;
     private int height = 20;
@@ -40,6 +42,22 @@ public class Missile implements Serializable {
         return y;
     }
 
+    public int getDirectionX() {
+        return directionX;
+    }
+
+    public int getDirectionY() {
+        return directionY;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
     // 화면 경계를 벗어났는지 확인하는 메서드
     public boolean isOutOfBounds(int width, int height) {
         return x < 0 || x > width || y < 0 || y > height;
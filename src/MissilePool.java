@@ -0,0 +1,222 @@
+import java.util.Arrays;
+
+// 미사일 저장소 (구조체 배열)
+// 필드별 원시 배열에 빈틈 없이 저장하고 소멸은 마지막 원소와 자리 바꿈(swap-remove)으로 처리해
+// 순회는 항상 0..size 연속 구간만 훑는다. 미사일 객체를 만들지 않으므로 수만 개에서도 GC 부담이 없다.
+// id → 인덱스는 선형 탐사 해시로 찾는다 (id 0 은 빈 칸 표시용이라 사용 불가)
+final class MissilePool {
+    static final int WIDTH = 15;
+    static final int HEIGHT = 20;
+    static final int RECORD = 7; // 레코드 하나당 int 개수
+
+    int[] id;
+    int[] owner;       // 발사한 플레이어 슬롯
+    int[] originTick;  // 생성된 시뮬레이션 틱
+    int[] originX;
+    int[] originY;
+    int[] x;
+    int[] y;
+    int[] dx;          // 틱당 이동량 (방향 * Missile.SPEED)
+    int[] dy;
+    private int size;
+
+    private int[] indexKeys;
+    private int[] indexValues;
+    private int indexMask;
+
+    MissilePool() {
+        this(64);
+    }
+
+    MissilePool(int capacity) {
+        allocate(Math.max(capacity, 4));
+    }
+
+    int size() {
+        return size;
+    }
+
+    // directionX/Y 는 -1, 0, 1
+    int spawn(int missileId, int missileOwner, int tick, int startX, int startY, int directionX, int directionY) {
+        if (size == id.length) grow();
+        int index = size++;
+        id[index] = missileId;
+        owner[index] = missileOwner;
+        originTick[index] = tick;
+        originX[index] = startX;
+        originY[index] = startY;
+        x[index] = startX;
+        y[index] = startY;
+        dx[index] = directionX * Missile.SPEED;
+        dy[index] = directionY * Missile.SPEED;
+        indexPut(missileId, index);
+        return index;
+    }
+
+    // 마지막 원소를 빈자리로 옮김 (순회 중이면 같은 인덱스를 다시 검사해야 함)
+    void remove(int index) {
+        indexRemove(id[index]);
+        int last = --size;
+        if (index != last) {
+            id[index] = id[last];
+            owner[index] = owner[last];
+            originTick[index] = originTick[last];
+            originX[index] = originX[last];
+            originY[index] = originY[last];
+            x[index] = x[last];
+            y[index] = y[last];
+            dx[index] = dx[last];
+            dy[index] = dy[last];
+            indexPut(id[index], index);
+        }
+    }
+
+    boolean removeById(int missileId) {
+        int index = indexOf(missileId);
+        if (index < 0) return false;
+        remove(index);
+        return true;
+    }
+
+    int indexOf(int missileId) {
+        int slot = hash(missileId) & indexMask;
+        while (indexKeys[slot] != 0) {
+            if (indexKeys[slot] == missileId) return indexValues[slot];
+            slot = (slot + 1) & indexMask;
+        }
+        return -1;
+    }
+
+    // 모든 미사일을 한 틱 이동
+    void advance() {
+        for (int i = 0; i < size; i++) {
+            x[i] += dx[i];
+            y[i] += dy[i];
+        }
+    }
+
+    // 주어진 틱에서의 좌표 (advance() 를 틱마다 한 번씩 호출한 결과와 같음)
+    int xAt(int index, double tick) {
+        return (int) Math.round(originX[index] + dx[index] * (tick - originTick[index]));
+    }
+
+    int yAt(int index, double tick) {
+        return (int) Math.round(originY[index] + dy[index] * (tick - originTick[index]));
+    }
+
+    boolean isOutOfBounds(int index, int width, int height) {
+        return x[index] < 0 || x[index] > width || y[index] < 0 || y[index] > height;
+    }
+
+    // 현재 미사일 id 들을 오름차순으로 (스냅샷 델타 계산용)
+    int[] sortedIds() {
+        int[] ids = Arrays.copyOf(id, size);
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    // 생성 정보를 id 오름차순 레코드로 직렬화 [id, owner, originTick, originX, originY, dirX, dirY] * n
+    int[] records() {
+        int[] ids = sortedIds();
+        int[] records = new int[ids.length * RECORD];
+        for (int i = 0; i < ids.length; i++) {
+            int index = indexOf(ids[i]);
+            int offset = i * RECORD;
+            records[offset] = id[index];
+            records[offset + 1] = owner[index];
+            records[offset + 2] = originTick[index];
+            records[offset + 3] = originX[index];
+            records[offset + 4] = originY[index];
+            records[offset + 5] = Integer.signum(dx[index]);
+            records[offset + 6] = Integer.signum(dy[index]);
+        }
+        return records;
+    }
+
+    // 레코드 하나로 미사일 생성, 현재 위치는 tick 기준으로 맞춤
+    int spawnRecord(int[] records, int offset, int tick) {
+        int index = spawn(records[offset], records[offset + 1], records[offset + 2],
+                records[offset + 3], records[offset + 4], records[offset + 5], records[offset + 6]);
+        x[index] = xAt(index, tick);
+        y[index] = yAt(index, tick);
+        return index;
+    }
+
+    void clear() {
+        size = 0;
+        Arrays.fill(indexKeys, 0);
+    }
+
+    private void allocate(int capacity) {
+        id = new int[capacity];
+        owner = new int[capacity];
+        originTick = new int[capacity];
+        originX = new int[capacity];
+        originY = new int[capacity];
+        x = new int[capacity];
+        y = new int[capacity];
+        dx = new int[capacity];
+        dy = new int[capacity];
+        int tableSize = Integer.highestOneBit(capacity * 2 - 1) << 1; // 적재율 50% 이하
+        indexKeys = new int[tableSize];
+        indexValues = new int[tableSize];
+        indexMask = tableSize - 1;
+    }
+
+    private void grow() {
+        int capacity = id.length * 2;
+        id = Arrays.copyOf(id, capacity);
+        owner = Arrays.copyOf(owner, capacity);
+        originTick = Arrays.copyOf(originTick, capacity);
+        originX = Arrays.copyOf(originX, capacity);
+        originY = Arrays.copyOf(originY, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        dx = Arrays.copyOf(dx, capacity);
+        dy = Arrays.copyOf(dy, capacity);
+
+        int tableSize = indexKeys.length * 2;
+        indexKeys = new int[tableSize];
+        indexValues = new int[tableSize];
+        indexMask = tableSize - 1;
+        for (int i = 0; i < size; i++) indexPut(id[i], i);
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void indexPut(int key, int value) {
+        int slot = hash(key) & indexMask;
+        while (indexKeys[slot] != 0 && indexKeys[slot] != key) {
+            slot = (slot + 1) & indexMask;
+        }
+        indexKeys[slot] = key;
+        indexValues[slot] = value;
+    }
+
+    // 선형 탐사 삭제: 뒤따르는 항목을 앞으로 당겨 탐사 사슬이 끊기지 않게 함
+    private void indexRemove(int key) {
+        int slot = hash(key) & indexMask;
+        while (indexKeys[slot] != key) {
+            if (indexKeys[slot] == 0) return;
+            slot = (slot + 1) & indexMask;
+        }
+        int next = slot;
+        while (true) {
+            next = (next + 1) & indexMask;
+            int nextKey = indexKeys[next];
+            if (nextKey == 0) break;
+            int home = hash(nextKey) & indexMask;
+            // home 이 (slot, next] 구간 밖이면 slot 자리로 당겨도 탐사 가능
+            boolean between = slot <= next ? (slot < home && home <= next) : (slot < home || home <= next);
+            if (!between) {
+                indexKeys[slot] = nextKey;
+                indexValues[slot] = indexValues[next];
+                slot = next;
+            }
+        }
+        indexKeys[slot] = 0;
+    }
+}
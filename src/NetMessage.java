@@ -0,0 +1,5 @@
+import java.io.Serializable;
+
+// 소켓으로 주고받는 메시지 (GameData, InputCommand, StateSnapshot, JoinRequest)
+interface NetMessage extends Serializable {
+}
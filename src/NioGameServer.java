@@ -0,0 +1,406 @@
+import java.awt.*;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Selector 이벤트 루프 기반 논블로킹 서버 (-Dshooting.server.mode=nio)
+// 소수의 이벤트 루프가 모든 SocketChannel 을 나눠 맡고, 완성된 프레임만 Room 로직으로 넘긴다.
+// 관전 포트(SpectatorFeed.PORT)는 별도 스레드가 accept 해서 같은 이벤트 루프들에 배분한다.
+// 바이너리 프로토콜 전용 (-Dshooting.protocol 이 binary 가 아니면 시작하지 않음)
+final class NioGameServer {
+    private static final int EVENT_LOOPS = Integer.getInteger("shooting.nio.loops", Runtime.getRuntime().availableProcessors());
+
+    private final ShootingGameServer server;
+    private final EventLoop[] loops;
+    private final AtomicInteger nextLoop = new AtomicInteger();
+
+    NioGameServer(ShootingGameServer server) {
+        checkProtocol();
+        this.server = server;
+        this.loops = new EventLoop[Math.max(1, EVENT_LOOPS)];
+    }
+
+    // 이벤트 루프는 바이너리 프레임만 조립하므로 다른 프로토콜 설정은 연결을 받기 전에 거부
+    static void checkProtocol() {
+        if (!"binary".equals(GameCodec.PROTOCOL)) {
+            throw new IllegalStateException("nio 모드는 바이너리 프로토콜만 지원함: -Dshooting.protocol=" + GameCodec.PROTOCOL);
+        }
+    }
+
+    // accept 는 호출한 스레드에서 처리하고 연결은 이벤트 루프에 라운드로빈으로 배분
+    void start(int port) throws IOException {
+        for (int i = 0; i < loops.length; i++) {
+            loops[i] = new EventLoop();
+            Thread thread = new Thread(loops[i], "nio-loop-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        if (SpectatorFeed.PORT > 0) {
+            Thread.ofPlatform().name("spectator-accept").daemon().start(() -> {
+                try {
+                    acceptLoop(SpectatorFeed.PORT, true);
+                } catch (IOException e) {
+                    GameLog.error("관전 포트 에러", null, null, e.getMessage());
+                }
+            });
+        }
+        acceptLoop(port, false);
+    }
+
+    private void acceptLoop(int port, boolean spectator) throws IOException {
+        try (ServerSocketChannel serverChannel = ServerSocketChannel.open()) {
+            serverChannel.bind(new InetSocketAddress(port));
+            while (true) {
+                SocketChannel channel = serverChannel.accept();
+                ServerMetrics.recordAccept();
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+                loops[Math.floorMod(nextLoop.getAndIncrement(), loops.length)].register(channel, spectator);
+            }
+        }
+    }
+
+    private record Accepted(SocketChannel channel, boolean spectator) {
+    }
+
+    private final class EventLoop implements Runnable {
+        private final Selector selector;
+        private final Queue<Accepted> pendingChannels = new ConcurrentLinkedQueue<>();
+        private final Queue<NioConnection> pendingWrites = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean wakeupRequested = new AtomicBoolean(); // 관전 송출처럼 한꺼번에 몰린 요청은 wakeup 한 번으로
+        private final ArrayDeque<NioConnection> awaitingJoin = new ArrayDeque<>(); // 루프 스레드 전용, 마감 순 (등록 순서와 같음)
+        private volatile Thread thread;
+
+        EventLoop() throws IOException {
+            this.selector = Selector.open();
+        }
+
+        void register(SocketChannel channel, boolean spectator) {
+            pendingChannels.add(new Accepted(channel, spectator));
+            selector.wakeup();
+        }
+
+        // 다른 스레드에서 쌓인 전송 요청은 루프 스레드가 처리
+        void requestWrite(NioConnection connection) {
+            if (Thread.currentThread() == thread) {
+                connection.flush();
+            } else {
+                pendingWrites.add(connection);
+                if (wakeupRequested.compareAndSet(false, true)) selector.wakeup();
+            }
+        }
+
+        @Override
+        public void run() {
+            thread = Thread.currentThread();
+            while (true) {
+                try {
+                    selector.select(expireJoins());
+                    wakeupRequested.set(false); // 이후 요청은 다시 깨움 (아래에서 대기열을 비우기 전에 내림)
+                    registerPending();
+                    flushPending();
+
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        NioConnection connection = (NioConnection) key.attachment();
+                        if (!key.isValid()) continue;
+                        if (key.isReadable()) connection.onReadable();
+                        if (key.isValid() && key.isWritable()) connection.flush();
+                    }
+                } catch (IOException e) {
+                    GameLog.error("이벤트 루프 에러", null, null, e.getMessage());
+                } catch (RuntimeException e) {
+                    // 연결 단위로 잡지 못한 예외도 루프 스레드를 죽이지 않음
+                    GameLog.error("이벤트 루프 에러", null, null, e);
+                }
+            }
+        }
+
+        private void registerPending() {
+            Accepted accepted;
+            while ((accepted = pendingChannels.poll()) != null) {
+                SocketChannel channel = accepted.channel();
+                NioConnection connection = new NioConnection(this, channel, accepted.spectator());
+                try {
+                    connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+                    server.log(GameLog.Level.INFO, accepted.spectator() ? "새 관전자 연결" : "새 클라이언트 연결", null, null,
+                            channel.socket().getInetAddress().getHostAddress());
+                    if (accepted.spectator()) {
+                        server.onConnect(connection, null);
+                    } else {
+                        // 플레이어는 첫 프레임에서 매칭, 마감까지 오지 않으면 ANY
+                        connection.joinDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(MatchCriteria.JOIN_TIMEOUT_MILLIS);
+                        awaitingJoin.add(connection);
+                    }
+                } catch (IOException e) {
+                    connection.close(ServerMetrics.reasonOf(e));
+                } catch (RuntimeException e) {
+                    GameLog.error("연결 처리 오류", null, connection.clientId, e);
+                    connection.close(ServerMetrics.DisconnectReason.ERROR);
+                }
+            }
+        }
+
+        // 첫 프레임 마감이 지난 플레이어를 ANY 로 매칭, 다음 마감까지 남은 밀리초 (기다리는 연결이 없으면 0 = 무기한)
+        private long expireJoins() {
+            long now = System.nanoTime();
+            NioConnection connection;
+            while ((connection = awaitingJoin.peek()) != null) {
+                if (connection.room != null || connection.closed) {
+                    awaitingJoin.poll();
+                    continue;
+                }
+                long remaining = connection.joinDeadline - now;
+                if (remaining > 0) return TimeUnit.NANOSECONDS.toMillis(remaining) + 1;
+                awaitingJoin.poll();
+                connection.onJoinTimeout();
+            }
+            return 0;
+        }
+
+        private void flushPending() {
+            NioConnection connection;
+            while ((connection = pendingWrites.poll()) != null) {
+                connection.flush();
+            }
+        }
+    }
+
+    private final class NioConnection implements PlayerConnection {
+        private final EventLoop loop;
+        private final SocketChannel channel;
+        private final boolean spectator;
+        // 송신: 다른 스레드는 대기열에 넣기만 하고, 인코딩과 쓰기는 루프 스레드가 묶음 단위로 처리
+        private final OutboundQueue outbound = new OutboundQueue();
+        private final AtomicBoolean writeScheduled = new AtomicBoolean();
+        private final List<NetMessage> batch = new ArrayList<>(OutboundQueue.MAX_BATCH);
+        private final GameProtocol.FrameBuffer frameBuffer = new GameProtocol.FrameBuffer();
+        private final BatchBuffer batchBuffer = new BatchBuffer();
+        private final ConnectionMetrics metrics = new ConnectionMetrics();
+        private ByteBuffer pending; // 아직 다 못 쓴 묶음
+        private ByteBuffer readBuffer = ByteBuffer.allocate(4096);
+        private SelectionKey key;
+        private Room room;
+        private long joinDeadline; // 첫 프레임 마감 (System.nanoTime)
+        private volatile boolean closed;
+
+        private final String clientId = UUID.randomUUID().toString();
+        private final GameData gameData;
+        private volatile int hp = 5;
+        private volatile String playerRole;
+
+        NioConnection(EventLoop loop, SocketChannel channel, boolean spectator) {
+            this.loop = loop;
+            this.channel = channel;
+            this.spectator = spectator;
+            this.gameData = new GameData(clientId, new Rectangle(0, 0, 50, 50), new ArrayList<>(), new ArrayList<>(), null, null, hp);
+        }
+
+        // 읽은 바이트를 누적하고 완성된 프레임만 디코딩
+        void onReadable() {
+            try {
+                int read = channel.read(readBuffer);
+                if (read < 0) {
+                    close(ServerMetrics.DisconnectReason.CLOSED);
+                    return;
+                }
+                metrics.bytesIn.add(read);
+                readBuffer.flip();
+                while (readBuffer.remaining() >= 4) {
+                    int length = readBuffer.getInt(readBuffer.position());
+                    GameProtocol.checkFrameLength(length);
+                    if (readBuffer.remaining() < 4 + length) {
+                        if (readBuffer.capacity() < 4 + length) {
+                            ByteBuffer larger = ByteBuffer.allocate(Math.max(4 + length, readBuffer.capacity() * 2));
+                            larger.put(readBuffer);
+                            readBuffer = larger;
+                            return;
+                        }
+                        break;
+                    }
+                    readBuffer.position(readBuffer.position() + 4);
+                    ByteBuffer payload = readBuffer.slice();
+                    payload.limit(length);
+                    readBuffer.position(readBuffer.position() + length);
+                    metrics.messagesIn.increment();
+                    NetMessage message = GameProtocol.decode(payload);
+                    if (room != null || spectator) {
+                        server.onMessage(this, room, message);
+                    } else {
+                        room = server.onFirstMessage(this, message);
+                    }
+                }
+                readBuffer.compact();
+            } catch (IOException e) {
+                close(ServerMetrics.reasonOf(e));
+            } catch (RuntimeException e) {
+                // 이 연결만 끊고 루프는 계속 (같은 루프의 다른 연결을 살림)
+                GameLog.error("메시지 처리 오류", room != null ? room.getRoomId() : null, clientId, e);
+                close(ServerMetrics.DisconnectReason.PROTOCOL);
+            }
+        }
+
+        // 루프 스레드 전용: 마감까지 첫 프레임이 없으면 초기 데이터부터 기다리는 클라이언트로 보고 ANY 로 매칭
+        void onJoinTimeout() {
+            try {
+                room = server.onConnect(this, MatchCriteria.ANY);
+            } catch (IOException e) {
+                close(ServerMetrics.reasonOf(e));
+            } catch (RuntimeException e) {
+                GameLog.error("연결 처리 오류", null, clientId, e);
+                close(ServerMetrics.DisconnectReason.ERROR);
+            }
+        }
+
+        // 루프 스레드 전용: 대기열의 메시지를 여러 개씩 한 버퍼로 인코딩해 가능한 만큼 전송, 남으면 OP_WRITE 대기
+        void flush() {
+            writeScheduled.set(false);
+            try {
+                while (true) {
+                    if (pending != null) {
+                        channel.write(pending);
+                        if (pending.hasRemaining()) break;
+                        pending = null;
+                    }
+                    batch.clear();
+                    if (outbound.drainTo(batch, OutboundQueue.MAX_BATCH) == 0) break;
+                    batchBuffer.reset();
+                    for (NetMessage message : batch) {
+                        if (message instanceof GameProtocol.SharedFrame shared) {
+                            metrics.sent(shared.size(), 0); // 관전 프레임은 이미 인코딩됨, 복사만
+                            shared.writeTo(batchBuffer);
+                            continue;
+                        }
+                        long start = System.nanoTime();
+                        int size = frameBuffer.encodePayload(message);
+                        metrics.sent(size, System.nanoTime() - start);
+                        frameBuffer.writeFrameTo(batchBuffer);
+                    }
+                    pending = batchBuffer.view();
+                }
+                if (key.isValid()) {
+                    key.interestOps(pending == null ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                }
+            } catch (IOException | CancelledKeyException e) {
+                close(ServerMetrics.DisconnectReason.ERROR);
+            }
+        }
+
+        void close(ServerMetrics.DisconnectReason reason) {
+            synchronized (this) {
+                if (closed) return;
+                closed = true;
+            }
+            outbound.close();
+            if (key != null) key.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                GameLog.warn("소켓 닫기 오류", null, clientId, e.getMessage());
+            }
+            server.onDisconnect(this, reason);
+        }
+
+        @Override
+        public void sendData(NetMessage data) throws IOException {
+            enqueue(data, false);
+        }
+
+        @Override
+        public void sendState(NetMessage data) throws IOException {
+            enqueue(data, true);
+        }
+
+        private void enqueue(NetMessage data, boolean droppable) throws IOException {
+            if (closed) throw new ClosedChannelException();
+            if (!outbound.offer(data, droppable)) {
+                close(ServerMetrics.DisconnectReason.OVERFLOW);
+                throw new IOException("송신 대기열 넘침");
+            }
+            // 루프가 아직 이 연결을 flush 하기 전이면 요청을 한 번만 보냄
+            if (writeScheduled.compareAndSet(false, true)) {
+                loop.requestWrite(this);
+            }
+        }
+
+        @Override
+        public long getRetainedBytes() {
+            return readBuffer.capacity() + frameBuffer.capacity() + batchBuffer.capacity();
+        }
+
+        @Override
+        public int getOutboundDepth() {
+            return outbound.depth();
+        }
+
+        @Override
+        public ConnectionMetrics getMetrics() {
+            return metrics;
+        }
+
+        @Override
+        public String getClientId() {
+            return clientId;
+        }
+
+        @Override
+        public String getPlayerRole() {
+            return playerRole;
+        }
+
+        @Override
+        public void setPlayerRole(String playerRole) {
+            this.playerRole = playerRole;
+        }
+
+        @Override
+        public boolean isSpectator() {
+            return spectator;
+        }
+
+        @Override
+        public int getHp() {
+            return hp;
+        }
+
+        @Override
+        public void setHp(int hp) {
+            this.hp = hp;
+        }
+
+        @Override
+        public GameData getGameData() {
+            return gameData;
+        }
+    }
+
+    // 버퍼를 복사하지 않고 그대로 ByteBuffer 로 보는 출력 스트림 (다음 reset 전까지 유효)
+    private static final class BatchBuffer extends ByteArrayOutputStream {
+        BatchBuffer() {
+            super(4096);
+        }
+
+        int capacity() {
+            return buf.length;
+        }
+
+        ByteBuffer view() {
+            return ByteBuffer.wrap(buf, 0, count);
+        }
+    }
+}
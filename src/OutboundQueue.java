@@ -0,0 +1,166 @@
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 연결별 송신 대기열 (크기 제한), 클라이언트의 입력 송신에도 같은 대기열을 씀
+// Room 은 여기에 넣기만 하고 실제 전송은 연결의 writer 가 여러 프레임을 모아 한 번에 flush 한다.
+// 가득 찼을 때 정책 (-Dshooting.outbound.overflow):
+//   drop-stale (기본값) 가장 오래된 상태 프레임(스냅샷/틱 상태)을 버림. 버릴 상태 프레임이 없는데 신뢰 메시지가 오면 연결 종료
+//   disconnect          바로 연결 종료
+// 게임 시작/종료, 아이템 생성/제거 같은 신뢰 메시지는 drop-stale 에서도 버리지 않는다.
+final class OutboundQueue {
+    static final int CAPACITY = Integer.getInteger("shooting.outbound.capacity", 256);
+    static final int MAX_BATCH = Integer.getInteger("shooting.outbound.batch", 32);
+    static final boolean DISCONNECT_ON_OVERFLOW = "disconnect".equals(System.getProperty("shooting.outbound.overflow", "drop-stale"));
+
+    // 전체 연결 합계 (메트릭)
+    private static final AtomicLong TOTAL_DEPTH = new AtomicLong();
+    private static final LongAdder TOTAL_DROPPED = new LongAdder();
+    private static final LongAdder TOTAL_OVERFLOW_DISCONNECTS = new LongAdder();
+
+    private record Entry(NetMessage message, boolean droppable) {
+    }
+
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final int capacity;
+    private long dropped;
+    private boolean closed;
+
+    OutboundQueue() {
+        this(CAPACITY);
+    }
+
+    OutboundQueue(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    // droppable: 더 새로운 상태로 대체되는 프레임이라 넘치면 버려도 되는지
+    // false 를 반환하면 넘침 정책상 연결을 끊어야 함
+    boolean offer(NetMessage message, boolean droppable) {
+        lock.lock();
+        try {
+            if (closed) return false;
+            if (entries.size() >= capacity) {
+                if (DISCONNECT_ON_OVERFLOW) {
+                    TOTAL_OVERFLOW_DISCONNECTS.increment();
+                    return false;
+                }
+                if (!dropOldestStale()) {
+                    if (!droppable) {
+                        TOTAL_OVERFLOW_DISCONNECTS.increment();
+                        return false;
+                    }
+                    recordDrop(); // 대기열이 모두 신뢰 메시지라 새 상태 프레임을 버림
+                    return true;
+                }
+            }
+            entries.add(new Entry(message, droppable));
+            TOTAL_DEPTH.incrementAndGet();
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean dropOldestStale() {
+        for (Iterator<Entry> it = entries.iterator(); it.hasNext(); ) {
+            if (it.next().droppable()) {
+                it.remove();
+                TOTAL_DEPTH.decrementAndGet();
+                recordDrop();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void recordDrop() {
+        dropped++;
+        TOTAL_DROPPED.increment();
+    }
+
+    // 쌓인 메시지를 최대 max 개 꺼냄 (기다리지 않음), 꺼낸 개수 반환
+    int drainTo(List<NetMessage> out, int max) {
+        lock.lock();
+        try {
+            return drainLocked(out, max);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 메시지가 생길 때까지 기다렸다가 최대 max 개 꺼냄, 닫히면 0
+    int awaitAndDrain(List<NetMessage> out, int max) throws InterruptedException {
+        lock.lock();
+        try {
+            while (entries.isEmpty() && !closed) {
+                notEmpty.await();
+            }
+            return drainLocked(out, max);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int drainLocked(List<NetMessage> out, int max) {
+        int count = 0;
+        Entry entry;
+        while (count < max && (entry = entries.poll()) != null) {
+            out.add(entry.message());
+            count++;
+        }
+        TOTAL_DEPTH.addAndGet(-count);
+        return count;
+    }
+
+    // 남은 메시지를 버리고 기다리는 writer 를 깨움
+    void close() {
+        lock.lock();
+        try {
+            if (closed) return;
+            closed = true;
+            TOTAL_DEPTH.addAndGet(-entries.size());
+            entries.clear();
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int depth() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long dropped() {
+        lock.lock();
+        try {
+            return dropped;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static long totalDepth() {
+        return TOTAL_DEPTH.get();
+    }
+
+    static long totalDropped() {
+        return TOTAL_DROPPED.sum();
+    }
+
+    static long totalOverflowDisconnects() {
+        return TOTAL_OVERFLOW_DISCONNECTS.sum();
+    }
+}
@@ -0,0 +1,44 @@
+import java.io.IOException;
+
+// Room 이 다루는 플레이어 연결 (스레드 / NIO 서버 모드 공통)
+interface PlayerConnection {
+    String getClientId();
+
+    String getPlayerRole();
+
+    void setPlayerRole(String playerRole);
+
+    int getHp();
+
+    void setHp(int hp);
+
+    GameData getGameData();
+
+    // 게임 시작/종료, 아이템처럼 반드시 전달해야 하는 메시지
+    void sendData(NetMessage data) throws IOException;
+
+    // 틱 상태처럼 다음 상태로 대체되는 메시지 (송신 대기열이 넘치면 버려질 수 있음)
+    default void sendState(NetMessage data) throws IOException {
+        sendData(data);
+    }
+
+    // 연결이 붙잡고 있는 메모리 추정치 (코덱 버퍼, 직렬화 핸들 테이블)
+    default long getRetainedBytes() {
+        return 0;
+    }
+
+    // 송신 대기 중인 메시지 수
+    default int getOutboundDepth() {
+        return 0;
+    }
+
+    // 송수신 통계 (기록하지 않는 연결은 null)
+    default ConnectionMetrics getMetrics() {
+        return null;
+    }
+
+    // 관전 포트로 들어온 연결 (방에 배정되지 않고 SpectatorFeed 로 상태만 받음)
+    default boolean isSpectator() {
+        return false;
+    }
+}
@@ -0,0 +1,478 @@
+import java.awt.*;
+import java.io.IOException;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// 방 하나: 플레이어 두 명의 입력을 받아 고정 틱 시뮬레이션(RoomSimulation)을 돌리고 상태/이벤트를 플레이어와 관전자에게 보낸다
+class Room {
+    private final String roomId;
+    private final List<PlayerConnection> players = new ArrayList<>(2);
+    // 소켓 I/O 는 락을 놓은 뒤에 수행 (가상 스레드가 캐리어를 고정하지 않도록 monitor 대신 ReentrantLock 사용)
+    private final ReentrantLock lock = new ReentrantLock();
+    // 모든 방의 고정 틱을 소수의 스레드로 다중화
+    private static final ScheduledExecutorService TICKER = Executors.newScheduledThreadPool(
+            Runtime.getRuntime().availableProcessors(),
+            Thread.ofPlatform().name("room-tick-", 0).daemon().factory());
+    private RoomSimulation simulation; // 게임 시작 후에만 존재
+    private MatchRecorder recorder;    // 녹화 중일 때만 (-Dshooting.record.dir)
+    private long matchStartMillis;     // 녹화 파일 이름과 경기 기록(MatchHistory)에 같은 값
+    private ScheduledFuture<?> tickTask;
+    private volatile boolean playing;        // 시뮬레이션 진행 중 (락 없이 읽음, 관전 방 고르기)
+    private boolean gameOverSent;
+    private boolean closed;                  // 모두 나간 방은 다시 배정하지 않음
+    private volatile String matchKey = MatchCriteria.ANY.key();
+    private final RoomMetrics metrics = new RoomMetrics();
+    private final SpectatorFeed spectators;
+
+    // 입력 전용 프로토콜 상태 (슬롯별)
+    private static final int MAX_INPUTS_PER_TICK = 3;  // 밀린 입력은 틱당 최대 3개까지 따라잡기 (inputBudget 안에서)
+    private static final int MAX_QUEUED_INPUTS = 30;
+    private static final int HISTORY_SIZE = 64;        // 델타 기준으로 보관하는 과거 틱 수
+    private static final int FULL_SNAPSHOT_INTERVAL = RoomSimulation.TICK_RATE; // 1초마다 전체 스냅샷
+    private final List<ArrayDeque<InputCommand>> inputQueues = List.of(new ArrayDeque<>(), new ArrayDeque<>());
+    private final int[] lastInputSequence = new int[WorldState.SLOTS];
+    // 틱마다 1씩 쌓이고 입력 하나에 1씩 쓰는 예산 (최대 MAX_INPUTS_PER_TICK): 늦게 온 입력은 따라잡되 평균은 틱당 1개
+    private final int[] inputBudget = new int[WorldState.SLOTS];
+    private final int[] ackTick = new int[WorldState.SLOTS];
+    private final boolean[] inputMode = new boolean[WorldState.SLOTS];
+    private final WorldState[] history = new WorldState[HISTORY_SIZE];
+    // 기존 GameData 프로토콜 입력 (슬롯별): 요청 위치와 발사 방향만 받아 두고 틱마다 입력 규칙으로 반영
+    private final int[] legacyX = new int[WorldState.SLOTS];
+    private final int[] legacyY = new int[WorldState.SLOTS];
+    private final boolean[] legacyMove = new boolean[WorldState.SLOTS];
+    private final int[] legacyFireX = new int[WorldState.SLOTS];
+    private final int[] legacyFireY = new int[WorldState.SLOTS];
+    private final boolean[] legacyFire = new boolean[WorldState.SLOTS];
+
+    public Room(String roomId) {
+        this(roomId, spectator -> { });
+    }
+
+    // spectatorDetached: 경기가 끝나 관전 송출에서 떼어 낸 관전자 (RoomRegistry 가 관전 기록을 지움)
+    Room(String roomId, Consumer<PlayerConnection> spectatorDetached) {
+        this.roomId = roomId;
+        this.spectators = new SpectatorFeed(roomId, spectatorDetached);
+    }
+
+    // 락 안에서 만든 전송 목록을 락 밖에서 전송
+    // state: 다음 틱 상태로 대체되는 프레임이라 송신 대기열이 넘치면 버려도 됨
+    private record Delivery(PlayerConnection player, NetMessage data, boolean state, String errorMessage) {
+        Delivery(PlayerConnection player, NetMessage data, String errorMessage) {
+            this(player, data, false, errorMessage);
+        }
+    }
+
+    private void deliver(List<Delivery> deliveries) {
+        for (Delivery delivery : deliveries) {
+            try {
+                if (delivery.state()) {
+                    delivery.player().sendState(delivery.data());
+                } else {
+                    delivery.player().sendData(delivery.data());
+                }
+            } catch (IOException e) {
+                GameLog.warn(delivery.errorMessage(), roomId, delivery.player().getClientId(), e.getMessage());
+            }
+        }
+    }
+
+    // 서버가 만든 아이템 생성 이벤트 (아이템 목록만 담은 프레임 하나)
+    private void broadcastItemSpawn(List<GameData.Item> spawned, List<Delivery> out) {
+        GameData spawnData = new GameData(null, null, null, spawned, roomId, null, 0);
+        spawnData.setPlayer(null);
+        for (PlayerConnection player : players) {
+            out.add(new Delivery(player, spawnData, "아이템 생성 정보 전송 오류"));
+        }
+        spectators.publishEvent(spawnData);
+    }
+
+    // 아이템 제거 이벤트, clientId 는 주운 플레이어 (수명이 다해 사라졌으면 null)
+    private void broadcastItemRemoval(String itemId, String pickedBy, List<Delivery> out) {
+        // 플레이어 상태가 섞이지 않도록 아이템 제거 전용 프레임 사용
+        GameData removalData = new GameData(pickedBy, null, null, null, roomId, null, 0);
+        removalData.setPlayer(null);
+        removalData.setItemRemoved(itemId);
+        for (PlayerConnection player : players) {
+            out.add(new Delivery(player, removalData, "아이템 삭제 정보 전송 오류"));
+        }
+        spectators.publishEvent(removalData);
+    }
+
+    // 자리가 없거나 닫힌 방이면 false
+    public boolean addPlayer(PlayerConnection player) {
+        List<Delivery> out = new ArrayList<>();
+        lock.lock();
+        try {
+            if (closed || players.size() >= 2) return false;
+            players.add(player);
+            if (players.size() == 2) {
+                startSimulation();
+                broadcastGameStart(out);
+            }
+        } finally {
+            lock.unlock();
+        }
+        deliver(out);
+        return true;
+    }
+
+    private void broadcastGameStart(List<Delivery> out) {
+        for (PlayerConnection player : players) {
+            GameData gameStartData = new GameData(player.getClientId(), null, null, null, roomId, player.getPlayerRole(), player.getHp());
+            gameStartData.setGameStarted(true);
+            out.add(new Delivery(player, gameStartData, "게임 시작 메시지 전송 오류"));
+        }
+    }
+
+    public void removePlayer(PlayerConnection player) {
+        lock.lock();
+        try {
+            int slot = players.indexOf(player);
+            boolean aborted = tickTask != null && slot >= 0;
+            if (slot >= 0) {
+                players.remove(slot);
+                // 뒤 슬롯이 앞으로 당겨지므로 프로토콜 구분도 함께 옮기고 빈 슬롯은 초기화
+                for (int i = slot; i < WorldState.SLOTS - 1; i++) inputMode[i] = inputMode[i + 1];
+                inputMode[WorldState.SLOTS - 1] = false;
+            }
+            if (players.isEmpty()) closed = true;
+            if (aborted || closed) {
+                if (!gameOverSent) {
+                    // 승부 전에 나갔거나 경기 없이 방이 닫힘: 관전자에게 승자 없는 종료를 알림
+                    GameData abortData = new GameData(null, null, null, null, roomId, null, 0);
+                    abortData.setPlayer(null);
+                    abortData.setGameOver(true);
+                    spectators.publishEvent(abortData);
+                    gameOverSent = true;
+                }
+                spectators.end();
+            }
+            stopSimulation();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 두 명이 모이면 새 시뮬레이션을 만들고 고정 틱 시작
+    private void startSimulation() {
+        stopSimulation();
+        long seed = System.nanoTime();
+        simulation = new RoomSimulation(seed);
+        matchStartMillis = System.currentTimeMillis();
+        recorder = MatchRecorder.start(roomId, seed, matchStartMillis,
+                new String[]{players.get(0).getClientId(), players.get(1).getClientId()});
+        gameOverSent = false;
+        spectators.begin();
+        Arrays.fill(history, null);
+        for (int slot = 0; slot < players.size(); slot++) {
+            players.get(slot).setHp(RoomSimulation.MAX_HP);
+            inputQueues.get(slot).clear();
+            lastInputSequence[slot] = 0;
+            inputBudget[slot] = 0;
+            inputMode[slot] = false; // 첫 InputCommand 를 받으면 다시 켜짐
+            ackTick[slot] = StateSnapshot.FULL;
+            legacyMove[slot] = false;
+            legacyFire[slot] = false;
+        }
+        tickTask = TICKER.scheduleAtFixedRate(this::tick, RoomSimulation.TICK_NANOS, RoomSimulation.TICK_NANOS, TimeUnit.NANOSECONDS);
+        playing = true;
+    }
+
+    private void stopSimulation() {
+        playing = false;
+        if (tickTask != null) {
+            tickTask.cancel(false);
+            tickTask = null;
+        }
+        if (recorder != null) {
+            recorder.finish();
+            recorder = null;
+        }
+    }
+
+    // 고정 틱: 시뮬레이션 진행 후 모든 플레이어 상태를 방 전체에 전송 (전송까지 포함한 시간을 기록)
+    void tick() {
+        long start = System.nanoTime();
+        int missileCount;
+        List<Delivery> out = new ArrayList<>();
+        lock.lock();
+        try {
+            if (simulation == null || players.size() != 2) return;
+            for (int slot = 0; slot < players.size(); slot++) {
+                if (!inputMode[slot]) applyLegacyInput(slot);
+                ArrayDeque<InputCommand> queue = inputQueues.get(slot);
+                inputBudget[slot] = Math.min(inputBudget[slot] + 1, MAX_INPUTS_PER_TICK);
+                for (; inputBudget[slot] > 0 && !queue.isEmpty(); inputBudget[slot]--) {
+                    InputCommand input = queue.poll();
+                    simulation.applyInput(slot, input.getButtons());
+                    if (recorder != null) recorder.input(slot, input.getButtons());
+                    lastInputSequence[slot] = input.getSequence();
+                }
+            }
+            simulation.step();
+            missileCount = simulation.getMissiles().size();
+            ItemManager items = simulation.getItems();
+            List<ItemManager.Removal> removed = items.drainRemoved();
+            List<GameData.Item> spawned = items.drainSpawned();
+            if (recorder != null) recorder.step(simulation, removed, spawned);
+
+            String[] clientIds = new String[WorldState.SLOTS];
+            for (int slot = 0; slot < players.size(); slot++) {
+                PlayerConnection player = players.get(slot);
+                player.setHp(simulation.getHp(slot));
+                Rectangle position = simulation.getPlayer(slot);
+                player.getGameData().getPlayer().setLocation(position.x, position.y);
+                clientIds[slot] = player.getClientId();
+            }
+            WorldState state = WorldState.capture(simulation.getTick(), clientIds, simulation);
+            history[state.tick % HISTORY_SIZE] = state;
+            collectItemEvents(removed, spawned, out);
+            spectators.publishState(state);
+
+            for (int slot = 0; slot < players.size(); slot++) {
+                PlayerConnection player = players.get(slot);
+                if (inputMode[slot]) {
+                    out.add(new Delivery(player, snapshotFor(slot, state), true, "스냅샷 전송 오류"));
+                } else {
+                    // 기존 GameData 프로토콜 클라이언트: 모든 플레이어 상태를 개별 프레임으로 전송
+                    for (int other = 0; other < players.size(); other++) {
+                        PlayerConnection owner = players.get(other);
+                        GameData legacyState = new GameData(owner.getClientId(), new Rectangle(simulation.getPlayer(other)),
+                                state.getMissiles(other), null, roomId, owner.getPlayerRole(), simulation.getHp(other));
+                        out.add(new Delivery(player, legacyState, true, "데이터 전송 오류"));
+                    }
+                }
+            }
+            checkGameOver(out);
+        } catch (RuntimeException e) {
+            // 예외가 나가면 scheduleAtFixedRate 가 취소되므로 여기서 막음
+            GameLog.error("틱 처리 오류", roomId, null, e);
+            return;
+        } finally {
+            lock.unlock();
+        }
+        deliver(out);
+        metrics.recordTick(System.nanoTime() - start, missileCount);
+    }
+
+    // 기존 프로토콜 입력을 입력 전용 프로토콜과 같은 규칙으로: 틱당 한 번 요청 위치 쪽으로 이동(속도/영역 제한), 발사는 쿨다운이 지났을 때 서버 위치에서 한 발
+    private void applyLegacyInput(int slot) {
+        int buttons = legacyMove[slot] ? simulation.buttonsToward(slot, legacyX[slot], legacyY[slot]) : 0;
+        if (buttons != 0) {
+            simulation.applyInput(slot, buttons);
+            if (recorder != null) recorder.input(slot, buttons);
+        }
+        if (legacyFire[slot]) {
+            legacyFire[slot] = false;
+            if (!simulation.canFire(slot)) return;
+            int x = simulation.fireX(slot), y = simulation.fireY(slot);
+            if (recorder != null) recorder.fire(slot, x, y, legacyFireX[slot], legacyFireY[slot]);
+            simulation.fire(slot, x, y, legacyFireX[slot], legacyFireY[slot]);
+        }
+    }
+
+    // 이번 틱의 아이템 생성/제거를 신뢰 메시지로 전송 (상태 프레임보다 먼저 넣어 줍기 직후 위치와 어긋나지 않게 함)
+    private void collectItemEvents(List<ItemManager.Removal> removed, List<GameData.Item> spawned, List<Delivery> out) {
+        for (ItemManager.Removal removal : removed) {
+            String pickedBy = removal.slot() >= 0 ? players.get(removal.slot()).getClientId() : null;
+            broadcastItemRemoval(removal.item().getId(), pickedBy, out);
+        }
+        if (!spawned.isEmpty()) broadcastItemSpawn(spawned, out);
+    }
+
+    public boolean isFull() {
+        lock.lock();
+        try {
+            return players.size() == 2;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        lock.lock();
+        try {
+            return players.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+
+    RoomMetrics getMetrics() {
+        return metrics;
+    }
+
+    // 관전자는 방 락과 상관없이 붙고 떨어짐
+    void addSpectator(PlayerConnection spectator) {
+        spectators.add(spectator);
+    }
+
+    void removeSpectator(PlayerConnection spectator) {
+        spectators.remove(spectator);
+    }
+
+    int getSpectatorCount() {
+        return spectators.count();
+    }
+
+    boolean isPlaying() {
+        return playing;
+    }
+
+    String getMatchKey() {
+        return matchKey;
+    }
+
+    void setMatchKey(String matchKey) {
+        this.matchKey = matchKey;
+    }
+
+    public int getPlayerCount() {
+        lock.lock();
+        try {
+            return players.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getPlayerRole(PlayerConnection player) {
+        lock.lock();
+        try {
+            return players.indexOf(player) == 0 ? "Player1" : "Player2";
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 클라이언트가 확인한 틱 기준 델타, 기준이 없거나 주기가 되면 전체 스냅샷
+    private StateSnapshot snapshotFor(int slot, WorldState state) {
+        int base = ackTick[slot];
+        WorldState baseState = base == StateSnapshot.FULL ? null : history[base % HISTORY_SIZE];
+        if (baseState == null || baseState.tick != base || state.tick % FULL_SNAPSHOT_INTERVAL == 0) {
+            return StateSnapshot.full(state, lastInputSequence[slot]);
+        }
+        return StateSnapshot.delta(baseState, state, lastInputSequence[slot]);
+    }
+
+    // 입력 전용 프로토콜: 다음 틱에 적용할 입력을 쌓아둠
+    public void processInput(InputCommand input, PlayerConnection sender) {
+        lock.lock();
+        try {
+            int slot = players.indexOf(sender);
+            if (slot < 0) return;
+            inputMode[slot] = true;
+            // 현재 틱보다 새로운 ack 는 이전 경기에서 보낸 입력이므로 버림 (남겨 두면 델타 기준이 없어 계속 전체 스냅샷)
+            if (simulation != null && input.getAckTick() <= simulation.getTick()) ackTick[slot] = input.getAckTick();
+            ArrayDeque<InputCommand> queue = inputQueues.get(slot);
+            if (queue.size() < MAX_QUEUED_INPUTS && input.getSequence() > lastInputSequence[slot]) {
+                queue.add(input);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 기존 GameData 프로토콜 입력: 요청 위치와 발사 방향만 저장하고 실제 이동/발사는 tick() 에서 (applyLegacyInput)
+    public void processGameData(GameData data, PlayerConnection sender) {
+        lock.lock();
+        try {
+            long start = metrics.countProcessGameData() ? System.nanoTime() : 0; // 락 대기는 틱 시간 쪽에 드러남
+            int slot = players.indexOf(sender);
+            if (slot < 0 || simulation == null) return;
+
+            Rectangle position = data.getPlayer();
+            if (position != null) {
+                legacyX[slot] = position.x;
+                legacyY[slot] = position.y;
+                legacyMove[slot] = true;
+            }
+
+            // 발사 입력: "fire x y dx dy" (x, y 는 무시하고 방향만 사용, 틱당 한 발)
+            if (data.getActions() != null) {
+                for (String action : data.getActions()) {
+                    String[] fields = action.split(" ");
+                    if (fields.length == 5 && GameData.ACTION_FIRE.equals(fields[0])) {
+                        try {
+                            int directionX = Integer.parseInt(fields[3]), directionY = Integer.parseInt(fields[4]);
+                            if (directionX == 0 && directionY == 0) continue;
+                            legacyFireX[slot] = Integer.signum(directionX);
+                            legacyFireY[slot] = Integer.signum(directionY);
+                            legacyFire[slot] = true;
+                        } catch (NumberFormatException e) {
+                            GameLog.warn("잘못된 발사 입력", roomId, sender.getClientId(), action);
+                        }
+                    }
+                }
+            }
+
+            // 아이템은 서버가 만들고 줍기도 tick() 에서 판정하므로 클라이언트가 보낸 아이템 생성/제거는 무시
+            if (start != 0) metrics.recordProcessGameData(System.nanoTime() - start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void broadcast(GameData data, PlayerConnection sender) {
+        List<Delivery> out = new ArrayList<>();
+        lock.lock();
+        try {
+            broadcast(data, sender, out);
+        } finally {
+            lock.unlock();
+        }
+        deliver(out);
+    }
+
+    private void broadcast(GameData data, PlayerConnection sender, List<Delivery> out) {
+        for (PlayerConnection player : players) {
+            if (player != sender) {
+                out.add(new Delivery(player, data, "데이터 전송 오류"));
+            }
+        }
+    }
+
+    public void checkGameOver() {
+        List<Delivery> out = new ArrayList<>();
+        lock.lock();
+        try {
+            checkGameOver(out);
+        } finally {
+            lock.unlock();
+        }
+        deliver(out);
+    }
+
+    // 승부가 나면 한 번만 종료 메시지를 보내고 틱 정지
+    private void checkGameOver(List<Delivery> out) {
+        if (players.size() != 2 || simulation == null || gameOverSent) return;
+
+        int winnerSlot = simulation.getWinner();
+        if (winnerSlot >= 0) {
+            String winner = winnerSlot == 0 ? "Player1" : "Player2";
+            broadcastGameOver(winner, out);
+            gameOverSent = true;
+            spectators.end();
+            MatchHistory.submit(roomId, new String[]{players.get(0).getClientId(), players.get(1).getClientId()},
+                    matchStartMillis, simulation.getTick(), winnerSlot, new int[]{simulation.getHp(0), simulation.getHp(1)});
+            stopSimulation();
+        }
+    }
+
+    private void broadcastGameOver(String winner, List<Delivery> out) {
+        for (PlayerConnection player : players) {
+            GameData gameOverData = new GameData(player.getClientId(), null, null, null, roomId, player.getPlayerRole(), player.getHp());
+            gameOverData.setGameOver(true);
+            gameOverData.setWinner(winner.equals(player.getPlayerRole()));
+            out.add(new Delivery(player, gameOverData, "게임 종료 메시지 전송 오류"));
+            if (gameOverData.isWinner()) spectators.publishEvent(gameOverData); // 관전자에게는 승자의 종료 메시지
+        }
+    }
+}
@@ -0,0 +1,65 @@
+// 방 하나의 틱/입력 처리 통계
+// 틱은 방마다 한 스레드씩 차례로 돌고 processGameData 는 방 락 안에서 기록하므로 필드마다 기록하는 쪽은 한 번에 하나,
+// 읽는 쪽(스크레이프)만 다른 스레드라 volatile 로 충분하다. 분포는 서버 전체 히스토그램(ServerMetrics)에 함께 기록
+final class RoomMetrics {
+    // processGameData 는 호출 자체가 수십 ns 라 nanoTime 두 번이 더 비싸므로 8번에 1번만 시간을 잰다 (호출 수는 전부 셈)
+    static final int PROCESS_SAMPLE_MASK = 7;
+
+    private volatile long ticks;
+    private volatile long tickNanos;
+    private volatile long maxTickNanos;
+    private volatile int missiles;  // 마지막 틱의 미사일 수
+    // 입력마다 올라가는 값이라 volatile 쓰기(펜스)도 아낌. 스크레이프가 조금 늦은 값을 읽는 건 상관없다
+    private long processCalls;
+    private volatile long processSamples;
+    private volatile long processNanos;  // 표본으로 잰 시간 합
+
+    void recordTick(long nanos, int missileCount) {
+        ticks++;
+        tickNanos += nanos;
+        if (nanos > maxTickNanos) maxTickNanos = nanos;
+        missiles = missileCount;
+        ServerMetrics.TICK_MICROS.record(nanos / 1_000);
+        ServerMetrics.MISSILES_PER_TICK.record(missileCount);
+    }
+
+    // 방 락 안에서 호출, 이번 호출의 시간을 재야 하면 true
+    boolean countProcessGameData() {
+        return (processCalls++ & PROCESS_SAMPLE_MASK) == 0;
+    }
+
+    // 방 락 안에서 호출
+    void recordProcessGameData(long nanos) {
+        processSamples++;
+        processNanos += nanos;
+        ServerMetrics.PROCESS_GAME_DATA_MICROS.record(nanos / 1_000);
+    }
+
+    long ticks() {
+        return ticks;
+    }
+
+    long tickNanos() {
+        return tickNanos;
+    }
+
+    long maxTickNanos() {
+        return maxTickNanos;
+    }
+
+    int missiles() {
+        return missiles;
+    }
+
+    long processCalls() {
+        return processCalls;
+    }
+
+    long processSamples() {
+        return processSamples;
+    }
+
+    long processNanos() {
+        return processNanos;
+    }
+}
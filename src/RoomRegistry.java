@@ -0,0 +1,114 @@
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+// 방 ID → 방, 클라이언트 ID → 방 조회를 ConcurrentHashMap 으로 관리 (추가/삭제 O(1), 전역 락 없음)
+// rooms() 는 약한 일관성 뷰라 순회 중에 방이 생기거나 사라져도 예외 없이 진행된다 (모니터링용)
+// 방 생성/인원 변경/삭제는 구독자(ServerObserver)에게 알린다
+final class RoomRegistry {
+    private final ConcurrentHashMap<String, Room> rooms = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Room> clientRooms = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, PlayerConnection> connections = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Room> spectatorRooms = new ConcurrentHashMap<>(); // 관전자 ID → 보는 방
+    // 관전 요청에 줄 방 후보 (방 전체를 훑지 않도록 관전자 수/경기 시작 때 조금씩 갱신, 락 없이 읽음)
+    private final AtomicReference<Room> mostWatched = new AtomicReference<>();
+    private final AtomicReference<Room> lastStarted = new AtomicReference<>();
+    private final List<ServerObserver> observers;
+
+    RoomRegistry(List<ServerObserver> observers) {
+        this.observers = observers;
+    }
+
+    Room create() {
+        String roomId = UUID.randomUUID().toString();
+        Room room = new Room(roomId, spectator -> unwatch(spectator.getClientId(), roomId));
+        rooms.put(room.getRoomId(), room);
+        for (ServerObserver observer : observers) {
+            observer.onRoomCreated(room.getRoomId());
+        }
+        return room;
+    }
+
+    void bind(PlayerConnection client, Room room) {
+        connections.put(client.getClientId(), client);
+        clientRooms.put(client.getClientId(), room);
+        updated(room);
+    }
+
+    // 클라이언트가 속했던 방 (없으면 null)
+    Room unbind(String clientId) {
+        connections.remove(clientId);
+        return clientRooms.remove(clientId);
+    }
+
+    // 빈 방은 목록에서 제거, 아니면 인원 변경 알림
+    void updated(Room room) {
+        if (room.isEmpty()) {
+            if (rooms.remove(room.getRoomId(), room)) {
+                for (ServerObserver observer : observers) {
+                    observer.onRoomRemoved(room.getRoomId());
+                }
+            }
+            return;
+        }
+        if (room.isPlaying()) lastStarted.set(room);
+        int playerCount = room.getPlayerCount();
+        for (ServerObserver observer : observers) {
+            observer.onRoomUpdated(room.getRoomId(), playerCount);
+        }
+    }
+
+    // 관전할 방 변경, 이전에 보던 방 반환 (room 이 null 이면 관전 중단)
+    Room watch(String clientId, Room room) {
+        return room == null ? spectatorRooms.remove(clientId) : spectatorRooms.put(clientId, room);
+    }
+
+    // 경기가 끝나 방에서 떼어 낸 관전자: 그 사이 다른 방으로 옮겼으면 그대로 둠
+    private void unwatch(String clientId, String roomId) {
+        spectatorRooms.computeIfPresent(clientId, (id, watched) -> watched.getRoomId().equals(roomId) ? null : watched);
+    }
+
+    // 관전자가 가장 많은 경기 중인 방 (근사값), 그 방이 끝났으면 가장 최근에 시작한 경기, 둘 다 없으면 null
+    Room mostWatched() {
+        Room best = mostWatched.get();
+        if (best != null && best.isPlaying()) return best;
+        Room latest = lastStarted.get();
+        return latest != null && latest.isPlaying() ? latest : null;
+    }
+
+    // 관전자가 늘어난 방이 후보보다 많으면 후보 교체 (후보가 줄어든 경우는 다른 방이 늘 때 따라잡음)
+    void spectatorsChanged(Room room) {
+        while (room.isPlaying()) {
+            Room current = mostWatched.get();
+            if (current == room) return;
+            if (current != null && current.isPlaying() && current.getSpectatorCount() >= room.getSpectatorCount()) return;
+            if (mostWatched.compareAndSet(current, room)) return;
+        }
+    }
+
+    Room get(String roomId) {
+        return rooms.get(roomId);
+    }
+
+    Room roomOf(String clientId) {
+        return clientRooms.get(clientId);
+    }
+
+    Collection<Room> rooms() {
+        return rooms.values();
+    }
+
+    Collection<PlayerConnection> connections() {
+        return connections.values();
+    }
+
+    int roomCount() {
+        return rooms.size();
+    }
+
+    int clientCount() {
+        return clientRooms.size();
+    }
+}
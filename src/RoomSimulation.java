@@ -0,0 +1,221 @@
+import java.awt.*;
+import java.util.List;
+
+// 방 하나의 서버 권위 게임 상태
+// 네트워크와 무관하며 step() 으로 고정 틱 단위로만 진행된다 (미사일 이동, 충돌, HP, 아이템과 이동 속도 효과)
+final class RoomSimulation {
+    static final int TICK_RATE = 60; // 초당 틱 수
+    static final long TICK_NANOS = 1_000_000_000L / TICK_RATE;
+    static final int WIDTH = 500;
+    static final int HEIGHT = 600;
+    static final int PLAYER_SIZE = 50;
+    static final int MAX_HP = 5;
+    static final int MIN_SPEED = 2;
+    static final int MAX_SPEED = 7;
+    static final int DEFAULT_SPEED = 5;
+    static final int EFFECT_TICKS = 5 * TICK_RATE; // 속도 아이템 효과 5초
+    static final int FIRE_COOLDOWN_TICKS = TICK_RATE / 6; // 입력을 얼마나 자주 보내든 초당 최대 6발
+    static final int GRID_CELL_SIZE = PLAYER_SIZE; // SpatialGrid 칸 크기 (CollisionBroadPhaseBenchmark)
+
+    // 이동 가능 영역 (슬롯 0 = Player1 은 울타리 아래, 슬롯 1 = Player2 는 울타리 위)
+    // 기존 클라이언트의 이미지 크기 기반 제한값과 동일
+    private static final int MIN_X = 5;
+    private static final int[] MAX_X = {440, 430};
+    private static final int[] MIN_Y = {335, 10};
+    private static final int[] MAX_Y = {544, 240};
+    // 캐릭터 이미지 중앙에서 발사
+    private static final int[] FIRE_OFFSET_X = {30, 35};
+    private static final int[] FIRE_OFFSET_Y = {28, 24};
+    static final int[] SPAWN_X = {150, 430};
+    static final int[] SPAWN_Y = {500, 100};
+
+    private final Rectangle[] players = {
+            new Rectangle(SPAWN_X[0], SPAWN_Y[0], PLAYER_SIZE, PLAYER_SIZE),
+            new Rectangle(SPAWN_X[1], SPAWN_Y[1], PLAYER_SIZE, PLAYER_SIZE)
+    };
+    private final int[] hp = {MAX_HP, MAX_HP};
+    private final int[] facingX = {0, 0};
+    private final int[] facingY = {-1, -1}; // 기본적으로 위쪽
+    private final int[] speed = {DEFAULT_SPEED, DEFAULT_SPEED};
+    private final int[] effectEndTick = {0, 0};
+    private final int[] nextFireTick = {0, 0};
+    private final MissilePool missiles = new MissilePool();
+    private final ItemManager items;
+    private int tick;
+    private int nextMissileId = 1;
+
+    RoomSimulation() {
+        this(System.nanoTime());
+    }
+
+    // seed: 아이템 생성 위치/종류 (같은 seed 와 입력이면 같은 경기)
+    RoomSimulation(long seed) {
+        this.items = new ItemManager(seed);
+    }
+
+    // 입력 하나 = 이동 한 번 (클라이언트 예측도 같은 규칙 사용)
+    // 이동 속도는 서버가 아이템 효과로 정함 (입력에 실린 속도는 클라이언트 예측용)
+    void applyInput(int slot, int buttons) {
+        Rectangle player = players[slot];
+        int currentSpeed = speed[slot];
+        player.setLocation(moveX(slot, player.x, buttons, currentSpeed), moveY(slot, player.y, buttons, currentSpeed));
+
+        int directionX = directionX(buttons);
+        int directionY = directionY(buttons);
+        if (directionX != 0 || directionY != 0) {
+            facingX[slot] = directionX;
+            facingY[slot] = directionY;
+        }
+        if ((buttons & InputCommand.FIRE) != 0 && canFire(slot)) {
+            fire(slot, fireX(slot), fireY(slot), facingX[slot], facingY[slot]);
+        }
+    }
+
+    // 기존 GameData 프로토콜: 클라이언트가 보낸 위치 쪽으로 누를 방향키 (위치를 그대로 믿지 않고 applyInput 으로 한 틱씩 이동)
+    // 남은 거리가 한 틱 이동량의 절반 이하면 누르지 않아 목표 주변에서 떨지 않음
+    int buttonsToward(int slot, int x, int y) {
+        Rectangle player = players[slot];
+        int half = speed[slot] / 2;
+        int buttons = 0;
+        if (x - player.x > half) buttons |= InputCommand.RIGHT;
+        else if (player.x - x > half) buttons |= InputCommand.LEFT;
+        if (y - player.y > half) buttons |= InputCommand.DOWN;
+        else if (player.y - y > half) buttons |= InputCommand.UP;
+        return buttons;
+    }
+
+    // 발사 위치는 항상 서버가 가진 캐릭터 위치 기준
+    int fireX(int slot) {
+        return players[slot].x + FIRE_OFFSET_X[slot];
+    }
+
+    int fireY(int slot) {
+        return players[slot].y + FIRE_OFFSET_Y[slot];
+    }
+
+    static int clampSpeed(int speed) {
+        return Math.max(MIN_SPEED, Math.min(speed, MAX_SPEED));
+    }
+
+    static int directionX(int buttons) {
+        if ((buttons & InputCommand.LEFT) != 0) return -1;
+        if ((buttons & InputCommand.RIGHT) != 0) return 1;
+        return 0;
+    }
+
+    static int directionY(int buttons) {
+        if ((buttons & InputCommand.UP) != 0) return -1;
+        if ((buttons & InputCommand.DOWN) != 0) return 1;
+        return 0;
+    }
+
+    static int moveX(int slot, int x, int buttons, int speed) {
+        return Math.max(MIN_X, Math.min(x + directionX(buttons) * speed, MAX_X[slot]));
+    }
+
+    static int moveY(int slot, int y, int buttons, int speed) {
+        return Math.max(MIN_Y[slot], Math.min(y + directionY(buttons) * speed, MAX_Y[slot]));
+    }
+
+    // 발사 쿨다운이 지났는지 (입력 경로에서 확인, fire 는 녹화 재생처럼 이미 허용된 발사에도 쓰임)
+    boolean canFire(int slot) {
+        return tick >= nextFireTick[slot];
+    }
+
+    void fire(int slot, int x, int y, int directionX, int directionY) {
+        if (directionX == 0 && directionY == 0) return;
+        nextFireTick[slot] = tick + FIRE_COOLDOWN_TICKS;
+        missiles.spawn(nextMissileId++, slot, tick, x, y, Integer.signum(directionX), Integer.signum(directionY));
+    }
+
+    // 한 틱 진행: 미사일 이동 → 화면 밖 제거 → 상대 플레이어와 충돌 시 HP 감소 → 아이템 만료/줍기/생성
+    // 미사일마다 맞을 수 있는 플레이어는 상대 한 명뿐이라 격자 없이 직접 판정 (O(미사일 수))
+    // SpatialGrid 는 양쪽이 함께 늘 때만 이득이고, 여기서는 플레이어 격자/미사일 격자 모두 직접 비교보다 느렸다
+    // (SimulationStepBenchmark 미사일 0/100/1000개: 직접 5ns/0.6us/5.5us, 플레이어 격자 62ns/1.6us/18us, 미사일 격자 64ns/2.6us/25us)
+    // 아이템은 동시에 최대 2개라 ItemManager 가 플레이어 2명과 직접 비교하고, 울타리는 충돌체가 아님
+    // (미사일은 울타리를 넘어가고 플레이어는 moveX/moveY 의 슬롯별 영역 제한으로 막힘)
+    // 정상 상태에서 객체를 할당하지 않음 (인덱스 순회, 원시 타입 충돌 판정)
+    void step() {
+        tick++;
+        MissilePool pool = missiles;
+        pool.advance();
+        for (int i = 0; i < pool.size(); ) {
+            if (pool.isOutOfBounds(i, WIDTH, HEIGHT)) {
+                pool.remove(i); // 마지막 미사일이 i 로 옮겨오므로 i 를 다시 검사
+                continue;
+            }
+            int target = hitTarget(pool, i);
+            if (target >= 0) {
+                hp[target] = Math.max(hp[target] - 1, 0); // HP 감소, 최소값 0
+                pool.remove(i);
+            } else {
+                i++;
+            }
+        }
+        stepItems();
+    }
+
+    // 끝난 속도 효과를 되돌리고 이번 틱에 주운 아이템 효과 적용
+    private void stepItems() {
+        for (int slot = 0; slot < players.length; slot++) {
+            if (effectEndTick[slot] == tick) speed[slot] = DEFAULT_SPEED;
+        }
+        List<ItemManager.Removal> removals = items.pendingRemoved();
+        int first = removals.size();
+        items.step(tickMillis(tick), players, hp);
+        for (int i = first; i < removals.size(); i++) {
+            applyPickup(removals.get(i));
+        }
+    }
+
+    private void applyPickup(ItemManager.Removal removal) {
+        int slot = removal.slot();
+        if (slot < 0) return;
+        speed[slot] = ItemManager.SPEED_UP.equals(removal.item().getType()) ? MAX_SPEED : MIN_SPEED;
+        effectEndTick[slot] = tick + EFFECT_TICKS;
+    }
+
+    static long tickMillis(int tick) {
+        return tick * 1000L / TICK_RATE;
+    }
+
+    // 미사일이 맞힌 상대 슬롯, 없으면 -1 (자기 미사일에는 맞지 않음)
+    private int hitTarget(MissilePool pool, int index) {
+        int slot = 1 - pool.owner[index];
+        if (hp[slot] <= 0) return -1;
+        Rectangle player = players[slot];
+        return Collision.intersects(player.x, player.y, player.width, player.height,
+                pool.x[index], pool.y[index], MissilePool.WIDTH, MissilePool.HEIGHT) ? slot : -1;
+    }
+
+    // 승자 슬롯, 아직 진행 중이면 -1
+    int getWinner() {
+        if (hp[0] > 0 && hp[1] > 0) return -1;
+        return hp[0] > 0 ? 0 : 1;
+    }
+
+    int getTick() {
+        return tick;
+    }
+
+    int getHp(int slot) {
+        return hp[slot];
+    }
+
+    Rectangle getPlayer(int slot) {
+        return players[slot];
+    }
+
+    MissilePool getMissiles() {
+        return missiles;
+    }
+
+    ItemManager getItems() {
+        return items;
+    }
+
+    int getSpeed(int slot) {
+        return speed[slot];
+    }
+
+}
@@ -0,0 +1,125 @@
+import java.awt.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+
+// 서버 상태 창 (선택적인 ServerObserver)
+// 이벤트는 큐에 쌓기만 하고 EDT 타이머가 주기적으로 모아서 반영한다.
+// 방 표는 바뀐 방의 행만 고치고, 로그는 최근 MAX_LOG_LINES 줄만 유지한다.
+class ServerGUI implements ServerObserver {
+    private static final int REFRESH_MILLIS = 250;
+    private static final int MAX_LOG_LINES = 500;
+    private static final int MAX_PENDING_LOGS = 1_000; // 넘치면 버리고 생략 수만 표시
+
+    private final JFrame frame;
+    private final JTextArea logArea;
+    private final JTable roomTable;
+    private final DefaultTableModel roomTableModel;
+
+    private final ConcurrentLinkedQueue<String> pendingLogs = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingLogCount = new AtomicInteger();
+    private final AtomicInteger droppedLogs = new AtomicInteger();
+    private final ConcurrentHashMap<String, Integer> pendingRooms = new ConcurrentHashMap<>(); // 방 ID → 인원, 0 이면 제거
+    private final Map<String, Integer> roomRows = new HashMap<>(); // EDT 전용
+
+    public ServerGUI() {
+        frame = new JFrame("Shooting Game - Server");
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.setSize(700, 400);
+        frame.setLayout(new BorderLayout());
+
+        // 로그 창
+        logArea = new JTextArea();
+        logArea.setEditable(false);
+        JScrollPane logScrollPane = new JScrollPane(logArea);
+        logScrollPane.setBorder(BorderFactory.createTitledBorder("서버 로그"));
+
+        // 방 정보 테이블
+        roomTableModel = new DefaultTableModel(new Object[]{"방 ID", "플레이어 수"}, 0);
+        roomTable = new JTable(roomTableModel);
+        JScrollPane tableScrollPane = new JScrollPane(roomTable);
+        tableScrollPane.setBorder(BorderFactory.createTitledBorder("방 상태"));
+
+        frame.add(logScrollPane, BorderLayout.CENTER);
+        frame.add(tableScrollPane, BorderLayout.EAST);
+        frame.setVisible(true);
+
+        new javax.swing.Timer(REFRESH_MILLIS, e -> refresh()).start();
+    }
+
+    @Override
+    public void onLog(String message) {
+        if (pendingLogCount.incrementAndGet() > MAX_PENDING_LOGS) {
+            pendingLogCount.decrementAndGet();
+            droppedLogs.incrementAndGet();
+            return;
+        }
+        pendingLogs.add(message);
+    }
+
+    @Override
+    public void onRoomUpdated(String roomId, int playerCount) {
+        pendingRooms.put(roomId, playerCount);
+    }
+
+    @Override
+    public void onRoomRemoved(String roomId) {
+        pendingRooms.put(roomId, 0);
+    }
+
+    // EDT: 쌓인 변경을 한 번에 반영
+    private void refresh() {
+        StringBuilder text = new StringBuilder();
+        String message;
+        while ((message = pendingLogs.poll()) != null) {
+            pendingLogCount.decrementAndGet();
+            text.append(message).append('\n');
+        }
+        int dropped = droppedLogs.getAndSet(0);
+        if (dropped > 0) text.append("(로그 ").append(dropped).append("줄 생략)\n");
+        if (text.length() > 0) appendLog(text.toString());
+
+        for (String roomId : pendingRooms.keySet()) {
+            Integer playerCount = pendingRooms.remove(roomId);
+            if (playerCount != null) updateRoomRow(roomId, playerCount);
+        }
+    }
+
+    private void appendLog(String text) {
+        logArea.append(text);
+        int excess = logArea.getLineCount() - MAX_LOG_LINES;
+        if (excess > 0) {
+            try {
+                logArea.replaceRange("", 0, logArea.getLineStartOffset(excess));
+            } catch (javax.swing.text.BadLocationException e) {
+                logArea.setText("");
+            }
+        }
+    }
+
+    private void updateRoomRow(String roomId, int playerCount) {
+        Integer row = roomRows.get(roomId);
+        if (playerCount == 0) {
+            if (row == null) return;
+            // 마지막 행을 빈자리로 옮겨 다른 행 번호는 그대로 유지
+            int last = roomTableModel.getRowCount() - 1;
+            if (row != last) {
+                String movedId = (String) roomTableModel.getValueAt(last, 0);
+                roomTableModel.setValueAt(movedId, row, 0);
+                roomTableModel.setValueAt(roomTableModel.getValueAt(last, 1), row, 1);
+                roomRows.put(movedId, row);
+            }
+            roomTableModel.removeRow(last);
+            roomRows.remove(roomId);
+        } else if (row == null) {
+            roomRows.put(roomId, roomTableModel.getRowCount());
+            roomTableModel.addRow(new Object[]{roomId, playerCount});
+        } else {
+            roomTableModel.setValueAt(playerCount, row, 1);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectStreamException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import javax.management.ObjectName;
+
+// 서버 지표 모음
+// 기록: 락 없는 LongAdder / LatencyHistogram (AtomicLongArray) 만 쓰므로 운영 중에도 켜 둘 수 있다.
+//   방 → RoomMetrics (틱 시간, processGameData 시간(표본), 틱당 미사일 수), 연결 → ConnectionMetrics (바이트/메시지/인코딩 시간)
+// 노출: JMX (shooting:type=ServerMetrics) 와 로컬 포트의 텍스트 스크레이프 (Prometheus 텍스트 형식)
+//   -Dshooting.metrics.port=9404 (0 이면 끔, 127.0.0.1 에만 바인드)  GET /metrics
+//   -Dshooting.metrics.jmx=true
+//   -Dshooting.metrics.perConnection=true 연결별 줄 포함 여부 (연결이 아주 많으면 끔)
+final class ServerMetrics implements ServerMetricsMBean {
+    static final int PORT = Integer.getInteger("shooting.metrics.port", 9404);
+    static final boolean JMX = Boolean.parseBoolean(System.getProperty("shooting.metrics.jmx", "true"));
+    static final boolean PER_CONNECTION = Boolean.parseBoolean(System.getProperty("shooting.metrics.perConnection", "true"));
+
+    // 서버 전체 분포 (방마다 히스토그램을 두면 방 수만큼 메모리가 들어 전체로 합침)
+    static final LatencyHistogram TICK_MICROS = new LatencyHistogram();
+    static final LatencyHistogram PROCESS_GAME_DATA_MICROS = new LatencyHistogram();
+    static final LatencyHistogram MISSILES_PER_TICK = new LatencyHistogram();
+
+    enum DisconnectReason {
+        CLOSED,   // 상대가 정상적으로 닫음
+        ERROR,    // 소켓 오류
+        OVERFLOW, // 송신 대기열 넘침
+        PROTOCOL; // 잘못된 프레임
+
+        final String label = name().toLowerCase();
+    }
+
+    private static final LongAdder ACCEPTS = new LongAdder();
+    private static final LongAdder[] DISCONNECTS = new LongAdder[DisconnectReason.values().length];
+
+    static {
+        for (int i = 0; i < DISCONNECTS.length; i++) DISCONNECTS[i] = new LongAdder();
+    }
+
+    private final RoomRegistry registry;
+    private volatile long acceptsPerSecond;
+    private long lastAccepts;
+
+    ServerMetrics(RoomRegistry registry) {
+        this.registry = registry;
+    }
+
+    static void recordAccept() {
+        ACCEPTS.increment();
+    }
+
+    static void recordDisconnect(DisconnectReason reason) {
+        DISCONNECTS[reason.ordinal()].increment();
+    }
+
+    // 읽기 중 난 예외로 끊긴 이유 추정
+    static DisconnectReason reasonOf(IOException e) {
+        if (e instanceof EOFException) return DisconnectReason.CLOSED;
+        if (e instanceof ObjectStreamException) return DisconnectReason.PROTOCOL; // StreamCorruptedException 포함
+        return DisconnectReason.ERROR;
+    }
+
+    // 초당 accept 수 샘플링, JMX 등록, 스크레이프 엔드포인트 시작
+    void start(ShootingGameServer server) {
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("metrics-sampler").daemon().factory());
+        sampler.scheduleAtFixedRate(this::sample, 1, 1, TimeUnit.SECONDS);
+
+        if (JMX) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName("shooting:type=ServerMetrics"));
+            } catch (Exception e) {
+                server.log(GameLog.Level.WARN, "JMX 등록 실패", null, null, e.getMessage());
+            }
+        }
+        if (PORT > 0) {
+            try {
+                HttpServer http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), PORT), 0);
+                http.createContext("/metrics", exchange -> {
+                    byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                    exchange.sendResponseHeaders(200, body.length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                    }
+                });
+                http.setExecutor(Executors.newSingleThreadExecutor(Thread.ofPlatform().name("metrics-http").daemon().factory()));
+                http.start();
+                server.log("지표: http://127.0.0.1:" + PORT + "/metrics");
+            } catch (IOException e) {
+                server.log(GameLog.Level.WARN, "지표 엔드포인트 시작 실패", null, null, e.getMessage());
+            }
+        }
+    }
+
+    private void sample() {
+        long accepts = ACCEPTS.sum();
+        acceptsPerSecond = accepts - lastAccepts;
+        lastAccepts = accepts;
+    }
+
+    @Override
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        gauge(out, "shooting_rooms", registry.roomCount());
+        gauge(out, "shooting_clients", registry.clientCount());
+        counter(out, "shooting_accepts_total", ACCEPTS.sum());
+        gauge(out, "shooting_accepts_per_second", acceptsPerSecond);
+        out.append("# TYPE shooting_disconnects_total counter\n");
+        for (DisconnectReason reason : DisconnectReason.values()) {
+            out.append("shooting_disconnects_total{reason=\"").append(reason.label).append("\"} ")
+                    .append(DISCONNECTS[reason.ordinal()].sum()).append('\n');
+        }
+        summary(out, "shooting_tick_micros", TICK_MICROS);
+        summary(out, "shooting_process_game_data_micros", PROCESS_GAME_DATA_MICROS);
+        summary(out, "shooting_missiles_per_tick", MISSILES_PER_TICK);
+        gauge(out, "shooting_outbound_depth", OutboundQueue.totalDepth());
+        counter(out, "shooting_outbound_dropped_total", OutboundQueue.totalDropped());
+        counter(out, "shooting_outbound_overflow_disconnects_total", OutboundQueue.totalOverflowDisconnects());
+        counter(out, "shooting_log_dropped_total", GameLog.dropped());
+        gauge(out, "shooting_spectators", SpectatorFeed.totalSpectators());
+        counter(out, "shooting_spectator_frames_encoded_total", SpectatorFeed.framesEncoded());
+        counter(out, "shooting_spectator_frames_delivered_total", SpectatorFeed.framesDelivered());
+
+        // 방/연결별 줄은 같은 이름끼리 붙어 있어야 하므로 지표마다 한 번씩 순회
+        roomFamily(out, "shooting_room_ticks_total", "counter", RoomMetrics::ticks);
+        roomFamily(out, "shooting_room_tick_micros_sum", "counter", metrics -> metrics.tickNanos() / 1_000);
+        roomFamily(out, "shooting_room_tick_micros_max", "gauge", metrics -> metrics.maxTickNanos() / 1_000);
+        roomFamily(out, "shooting_room_missiles", "gauge", RoomMetrics::missiles);
+        roomFamily(out, "shooting_room_process_game_data_total", "counter", RoomMetrics::processCalls);
+        roomFamily(out, "shooting_room_process_game_data_sampled_total", "counter", RoomMetrics::processSamples);
+        roomFamily(out, "shooting_room_process_game_data_micros_sum", "counter", metrics -> metrics.processNanos() / 1_000);
+
+        if (PER_CONNECTION) {
+            connectionFamily(out, "shooting_connection_bytes_in_total", "counter", c -> c.getMetrics().bytesIn.sum());
+            connectionFamily(out, "shooting_connection_bytes_out_total", "counter", c -> c.getMetrics().bytesOut.sum());
+            connectionFamily(out, "shooting_connection_messages_in_total", "counter", c -> c.getMetrics().messagesIn.sum());
+            connectionFamily(out, "shooting_connection_messages_out_total", "counter", c -> c.getMetrics().messagesOut.sum());
+            connectionFamily(out, "shooting_connection_serialize_micros_sum", "counter", c -> c.getMetrics().serializeNanos.sum() / 1_000);
+            connectionFamily(out, "shooting_connection_outbound_depth", "gauge", PlayerConnection::getOutboundDepth);
+            connectionFamily(out, "shooting_connection_retained_bytes", "gauge", PlayerConnection::getRetainedBytes);
+        }
+        gauge(out, "shooting_retained_bytes", getRetainedBytes());
+        return out.toString();
+    }
+
+    private void roomFamily(StringBuilder out, String name, String type, ToLongFunction<RoomMetrics> value) {
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        for (Room room : registry.rooms()) {
+            out.append(name).append("{room=\"").append(room.getRoomId()).append("\"} ")
+                    .append(value.applyAsLong(room.getMetrics())).append('\n');
+        }
+    }
+
+    private void connectionFamily(StringBuilder out, String name, String type, ToLongFunction<PlayerConnection> value) {
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        for (PlayerConnection connection : registry.connections()) {
+            if (connection.getMetrics() == null) continue;
+            out.append(name).append("{client=\"").append(connection.getClientId()).append("\"} ")
+                    .append(value.applyAsLong(connection)).append('\n');
+        }
+    }
+
+    private static void gauge(StringBuilder out, String name, long value) {
+        out.append("# TYPE ").append(name).append(" gauge\n").append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void counter(StringBuilder out, String name, long value) {
+        out.append("# TYPE ").append(name).append(" counter\n").append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void summary(StringBuilder out, String name, LatencyHistogram histogram) {
+        out.append("# TYPE ").append(name).append(" summary\n");
+        for (double quantile : new double[]{0.5, 0.9, 0.99, 0.999}) {
+            out.append(name).append("{quantile=\"").append(quantile).append("\"} ")
+                    .append(histogram.percentile(quantile * 100)).append('\n');
+        }
+        out.append(name).append("_count ").append(histogram.count()).append('\n');
+    }
+
+    @Override
+    public int getRoomCount() {
+        return registry.roomCount();
+    }
+
+    @Override
+    public int getClientCount() {
+        return registry.clientCount();
+    }
+
+    @Override
+    public long getAcceptsTotal() {
+        return ACCEPTS.sum();
+    }
+
+    @Override
+    public long getAcceptsPerSecond() {
+        return acceptsPerSecond;
+    }
+
+    @Override
+    public long getDisconnectsClosed() {
+        return DISCONNECTS[DisconnectReason.CLOSED.ordinal()].sum();
+    }
+
+    @Override
+    public long getDisconnectsError() {
+        return DISCONNECTS[DisconnectReason.ERROR.ordinal()].sum();
+    }
+
+    @Override
+    public long getDisconnectsOverflow() {
+        return DISCONNECTS[DisconnectReason.OVERFLOW.ordinal()].sum();
+    }
+
+    @Override
+    public long getDisconnectsProtocol() {
+        return DISCONNECTS[DisconnectReason.PROTOCOL.ordinal()].sum();
+    }
+
+    @Override
+    public long getTickP50Micros() {
+        return TICK_MICROS.percentile(50);
+    }
+
+    @Override
+    public long getTickP99Micros() {
+        return TICK_MICROS.percentile(99);
+    }
+
+    @Override
+    public long getTickMaxMicros() {
+        return TICK_MICROS.max();
+    }
+
+    @Override
+    public long getProcessGameDataP99Micros() {
+        return PROCESS_GAME_DATA_MICROS.percentile(99);
+    }
+
+    @Override
+    public long getMissilesPerTickP99() {
+        return MISSILES_PER_TICK.percentile(99);
+    }
+
+    @Override
+    public long getOutboundDepth() {
+        return OutboundQueue.totalDepth();
+    }
+
+    @Override
+    public long getOutboundDropped() {
+        return OutboundQueue.totalDropped();
+    }
+
+    @Override
+    public int getSpectatorCount() {
+        return SpectatorFeed.totalSpectators();
+    }
+
+    @Override
+    public long getRetainedBytes() {
+        long retained = 0;
+        for (PlayerConnection connection : registry.connections()) {
+            retained += connection.getRetainedBytes();
+        }
+        return retained;
+    }
+}
@@ -0,0 +1,40 @@
+// JMX 로 보이는 서버 지표 (shooting:type=ServerMetrics)
+// 표준 MBean 규칙상 public 인터페이스여야 한다
+public interface ServerMetricsMBean {
+    int getRoomCount();
+
+    int getClientCount();
+
+    long getAcceptsTotal();
+
+    long getAcceptsPerSecond();
+
+    long getDisconnectsClosed();
+
+    long getDisconnectsError();
+
+    long getDisconnectsOverflow();
+
+    long getDisconnectsProtocol();
+
+    long getTickP50Micros();
+
+    long getTickP99Micros();
+
+    long getTickMaxMicros();
+
+    long getProcessGameDataP99Micros();
+
+    long getMissilesPerTickP99();
+
+    long getOutboundDepth();
+
+    long getOutboundDropped();
+
+    int getSpectatorCount();
+
+    long getRetainedBytes();
+
+    // 스크레이프 엔드포인트와 같은 전체 텍스트
+    String scrape();
+}
@@ -0,0 +1,22 @@
+// 서버 상태 변화 구독자 (GUI, 모니터링 등)
+// 네트워크/틱 스레드에서 바로 호출되므로 구현은 빨리 반환해야 한다 (무거운 작업은 큐에 넣고 따로 처리)
+interface ServerObserver {
+    default void onLog(String message) {
+    }
+
+    default void onClientConnected(String clientId, String roomId) {
+    }
+
+    default void onClientDisconnected(String clientId) {
+    }
+
+    default void onRoomCreated(String roomId) {
+    }
+
+    // 방 인원이 바뀜 (배정 직후 포함)
+    default void onRoomUpdated(String roomId, int playerCount) {
+    }
+
+    default void onRoomRemoved(String roomId) {
+    }
+}
@@ -4,69 +4,96 @@ import java.awt.*;
 import java.awt.event.*;
 import java.util.*;
 import java.util.List;
-import javax.swing.Timer;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.swing.*;
 
-public class ShootingGameClient extends JPanel implements ActionListener, KeyListener {
+// 스레드 구성: 게임 루프 (고정 틱 입력/예측, 화면 상태 생성), 송신 (입력 대기열 → 소켓), 수신 (스냅샷/이벤트 적용),
+// FramePacer (주사율에 맞춰 repaint). EDT 는 키 입력과 그리기만 하고 소켓 I/O 를 하지 않는다.
+// -Dshooting.client.spectate=any|<roomId> 이면 관전 포트로 접속해 보기만 한다 (입력을 보내지 않고 두 플레이어 모두 보간해 그림)
+// -Dshooting.client.region=kr -Dshooting.client.skill=3 이면 같은 지역/실력 구간의 상대와만 매칭 (MatchCriteria)
+public class ShootingGameClient extends JPanel implements KeyListener {
+    private static final String SPECTATE = System.getProperty("shooting.client.spectate", "");
+    private static final MatchCriteria CRITERIA = new MatchCriteria(System.getProperty("shooting.client.region", ""),
+            Integer.getInteger("shooting.client.skill", 0));
+    private final boolean spectating = !SPECTATE.isEmpty();
+    private volatile String winnerRole; // 관전: 이긴 쪽 역할 (승부 없이 끝나면 null)
     private Socket socket;
-    private ObjectOutputStream out;
-    private ObjectInputStream in;
-    private final String clientId = "player_" + UUID.randomUUID(); // 클라이언트 고유 아이디 생성
-
-    private long lastItemGenerationTime = 0;
-    private static final long ITEM_GENERATION_INTERVAL = 9000; // 아이템 생성 주기
-    private Timer timer;
-    private Image playerImage, backgroundImage, missileImage, hammerImage;
+    private GameCodec codec;
+    private String clientId = "player_" + UUID.randomUUID(); // 서버가 배정한 아이디로 교체됨
+    private final OutboundQueue outbound = new OutboundQueue(); // 게임 루프 → 송신 스레드, 밀리면 오래된 입력부터 버림
+
+    private AssetCache assets;  // 시작할 때 한 번 읽은 이미지
+    private FramePacer pacer;   // 화면 주사율에 맞춰 다시 그림
+    private int mySprite;       // 0 = 커비 (Player1), 1 = 디디디 (Player2)
     private int playerX, playerY;
-    private boolean[] keys;
-    private List<Missile> missiles;
-    private int directionX = 0;
-    private int directionY = 0;
+    private volatile int heldButtons;  // EDT 가 갱신하는 누르고 있는 방향키 (InputCommand 비트)
     private boolean isSpacePressed = false;
+    private final AtomicBoolean fireRequested = new AtomicBoolean(); // 다음 입력에 발사 비트를 실음
     private final Map<String, GameData> otherPlayers = new HashMap<>();
     private String playerRole;
-    private boolean gameOver = false;
-    private boolean gameOverPopupShown = false; // 팝업이 이미 표시되었는지 확인하는 플래그
-    private boolean isWinner = false; // 승리 여부를 저장하는 변수
-    private int lastDirectionX = 0;  // 마지막 X 방향
-    private int lastDirectionY = -1; // 마지막 Y 방향 (기본적으로 위쪽)
-    private int playerHP = 5;  // 자신의 HP
-    private int speed = 5; // 기본 이동 속도
-    private long speedBoostEndTime = 0; // 속도 아이템 종료 시간
-    private Image speedItemImage;
-    private Image speedDownItemImage;
-    private Image fanceImage;
+    private volatile boolean gameOver = false;
+    private volatile boolean isWinner = false; // 승리 여부를 저장하는 변수
+    private volatile int playerHP = 5;  // 자신의 HP
+    private volatile int speed = RoomSimulation.DEFAULT_SPEED; // 예측용 이동 속도
+    private volatile long speedBoostEndTime = 0; // 속도 아이템 종료 시간 (예측용, 실제 속도는 서버가 적용)
+    private volatile Frame frame; // 렌더러가 그릴 가장 최근 화면 상태
     private Rectangle wallBounds; // 벽의 경계 영역
-    private final List<GameData.Item> items = new ArrayList<>();
+    private final Map<String, GameData.Item> items = new LinkedHashMap<>(); // 서버가 만든 아이템, ID → 아이템
+
+    // 입력 전용 프로토콜: 서버 틱 주기로 입력을 보내고 스냅샷/델타로 상태를 받음
+    private static final int STATE_HISTORY = 64;
+    private final WorldState[] receivedStates = new WorldState[STATE_HISTORY];
+    private volatile int lastAckTick = StateSnapshot.FULL;
+    private volatile WorldState latestState;
+    private static final int MAX_EXTRAPOLATION_TICKS = 10; // 스냅샷이 끊겨도 미사일을 이 이상 앞서 그리지 않음
+    private volatile long lastStateReceivedAt;
+    private final MissilePool missiles = new MissilePool(); // 서버와 같은 미사일 저장소, 스냅샷의 id 집합에 맞춰 갱신
+
+    // 클라이언트 예측: 보낸 입력을 바로 적용하고, 서버가 확인하기 전까지 보관했다가 스냅샷이 오면 다시 적용
+    private static final int INPUT_BUFFER = 128;
+    private final InputCommand[] unackedInputs = new InputCommand[INPUT_BUFFER];
+    private final Object predictionLock = new Object();
+    private int inputSequence = 0;
+    private volatile int mySlot = -1; // 첫 스냅샷에서 결정
+
+    // 상대 플레이어는 이만큼 과거 시점을 스냅샷 사이 보간으로 그림
+    private static final int INTERPOLATION_DELAY_TICKS = 6; // 100ms
+    // 관전 스냅샷은 SpectatorFeed.STRIDE 틱마다 오므로 두 간격만큼 뒤를 그림 (서버와 같은 -Dshooting.spectator.rate 기준)
+    private final int interpolationDelayTicks = spectating
+            ? Math.max(INTERPOLATION_DELAY_TICKS, 2 * SpectatorFeed.STRIDE) : INTERPOLATION_DELAY_TICKS;
+    private static final int MAX_CATCH_UP_TICKS = 5; // 루프가 멈췄다 돌아와도 한 번에 이 이상 입력을 몰아 보내지 않음
+
+    // 게임 루프가 틱마다 만들어 넘기는 불변 화면 상태 (렌더러는 가장 최근 것 하나만 그림)
+    // 배열은 만든 뒤 고치지 않음, 미사일은 화면 안에 있는 것만
+    private record Frame(int playerX, int playerY, int playerHp,
+                         int[] otherX, int[] otherY, int[] otherSprite, int[] otherHp,
+                         int[] missileX, int[] missileY, int[] missileOwner,
+                         GameData.Item[] items) {
+    }
 
     public ShootingGameClient() {
         try {
-            socket = new Socket("localhost", 12345);
+            socket = new Socket("localhost", spectating ? SpectatorFeed.PORT : 12345);
             System.out.println("서버에 연결 성공!");
 
-            in = new ObjectInputStream(socket.getInputStream());
-            out = new ObjectOutputStream(socket.getOutputStream());
+            codec = GameCodec.open(socket);
+            if (!spectating) codec.write(CRITERIA.joinRequest()); // 첫 프레임으로 매칭 조건 전달, 송신 스레드는 아직 없음
 
-            GameData initialData = (GameData) in.readObject();
+            GameData initialData = (GameData) codec.read();
             playerRole = initialData.getPlayerRole();
+            clientId = initialData.getClientId();
+            if (spectating) outbound.offer(watchRequest(), false);
 
             if ("Player1".equals(playerRole)) {
-                playerImage = new ImageIcon("images/kirby.png").getImage();
+                mySprite = 0;
                 playerX = 150;
                 playerY = 500;
             } else {
-                playerImage = new ImageIcon("images/dididi.png").getImage();
+                mySprite = 1;
                 playerX = 450;
                 playerY = 100;
             }
 
-            backgroundImage = new ImageIcon("images/background.png").getImage();
-            missileImage = new ImageIcon("images/starBullet.png").getImage();
-            hammerImage = new ImageIcon("images/hammer.png").getImage();
-            speedItemImage = new ImageIcon("images/speedUp.png").getImage();
-            speedDownItemImage = new ImageIcon("images/speedDown.png").getImage();
-            fanceImage = new ImageIcon("images/fance.png").getImage();
-
             // 울타리 크기 및 위치 조정
             int wallWidth = 500;  // 울타리의 너비 (맵 가로 크기와 동일)
             int wallHeight = 80;  // 울타리의 높이 (기존보다 더 높게 설정)
@@ -74,74 +101,54 @@ public class ShootingGameClient extends JPanel implements ActionListener, KeyLis
             int wallY = (600 / 2) - (wallHeight / 2);  // 맵 높이의 절반에서 울타리 높이의 절반만큼 뺌 (정중앙 배치)
 
             wallBounds = new Rectangle(wallX, wallY, wallWidth, wallHeight);
-            keys = new boolean[256];
-            missiles = new ArrayList<>();
-            timer = new Timer(5, this);
-            timer.start();
+            assets = new AssetCache(wallBounds);
 
             addKeyListener(this);
             setFocusable(true);
             setPreferredSize(new Dimension(500, 600));
 
-            new Thread(this::receiveData).start();
-        } catch (IOException | ClassNotFoundException e) {
+            new Thread(this::receiveData, "client-receive").start();
+            Thread.ofPlatform().name("client-send").daemon().start(this::sendLoop);
+            Thread.ofPlatform().name("client-loop").daemon().start(this::gameLoop);
+            pacer = new FramePacer(this);
+            pacer.start();
+        } catch (IOException e) {
             System.err.println("연결 실패: " + e.getMessage());
             JOptionPane.showMessageDialog(null, "서버에 연결할 수 없습니다.", "오류", JOptionPane.ERROR_MESSAGE);
             System.exit(0);
         }
     }
 
-    // 화면 렌더링
+    // 화면 렌더링 (FramePacer 가 주사율에 맞춰 호출, 이미지는 모두 그릴 크기로 캐시되어 있음)
+    // 게임 루프가 만든 불변 화면 상태만 읽으므로 락을 잡지 않음
     public void paintComponent(Graphics g) {
+        pacer.framePainted();
         super.paintComponent(g);
 
-        g.drawImage(backgroundImage, 0, 0, 500, 600, this);
-        g.drawImage(fanceImage, wallBounds.x, wallBounds.y, wallBounds.width, wallBounds.height, this);
-        g.drawImage(playerImage, playerX, playerY, 50, 50, this);
+        assets.drawBackground(g);
+        Frame current = frame;
+        if (current == null) return;
+
+        if (!spectating) g.drawImage(assets.player(mySprite), current.playerX(), current.playerY(), null);
 
         // 아이템
-        synchronized (items) {
-            for (GameData.Item item : items) {
-                Image itemImage = "speed".equals(item.getType()) ? speedItemImage : speedDownItemImage;
-                g.drawImage(itemImage, item.getX(), item.getY(), 30, 30, this);
-            }
+        for (GameData.Item item : current.items()) {
+            g.drawImage(assets.item(item.getType()), item.getX(), item.getY(), null);
         }
 
-        // 미사일
-        for (Missile missile : missiles) {
-            Image currentMissileImage = "Player1".equals(playerRole) ? missileImage : hammerImage;
-            g.drawImage(currentMissileImage, missile.getX() - 20, missile.getY(), 20, 20, this);
+        // 미사일 (Player1 은 별 / Player2 는 망치)
+        for (int i = 0; i < current.missileX().length; i++) {
+            g.drawImage(assets.missile(current.missileOwner()[i]), current.missileX()[i] - AssetCache.MISSILE_SIZE, current.missileY()[i], null);
         }
 
         // 클라이언트 기준 상대 플레이어
-        synchronized (otherPlayers) {
-            for (GameData data : otherPlayers.values()) {
-                Rectangle player = data.getPlayer();
-                if (player.x == 0 && player.y == 0) continue;
-                Image otherPlayerImage = "Player1".equals(data.getPlayerRole())
-                        ? new ImageIcon("images/kirby.png").getImage()
-                        : new ImageIcon("images/dididi.png").getImage();
-                g.drawImage(otherPlayerImage, player.x, player.y, 50, 50, this);
-
-                for (Missile missile : data.getMissiles()) {
-                    Image otherMissileImage = "Player1".equals(data.getPlayerRole()) ? missileImage : hammerImage;
-                    g.drawImage(otherMissileImage, missile.getX() - 20, missile.getY(), 20, 20, this);
-                }
-
-                drawHpBar(g, player.x, player.y, data.getHp());
-            }
+        for (int i = 0; i < current.otherX().length; i++) {
+            g.drawImage(assets.player(current.otherSprite()[i]), current.otherX()[i], current.otherY()[i], null);
+            drawHpBar(g, current.otherX()[i], current.otherY()[i], current.otherHp()[i]);
         }
 
         // 자신의 HP바
-        drawHpBar(g, playerX, playerY, playerHP);
-
-        // 게임 오버 시 팝업 출력
-        if (gameOver && !gameOverPopupShown) {
-            gameOverPopupShown = true;
-            String message = isWinner ? "게임 오버! You Win!" : "게임 오버! You Lose!"; // 게임 종료시 팝업 표시해줌
-            JOptionPane.showMessageDialog(this, message);
-            System.exit(0);
-        }
+        if (!spectating) drawHpBar(g, current.playerX(), current.playerY(), current.playerHp());
     }
 
     // 캐릭터 위 hp바
@@ -157,234 +164,259 @@ public class ShootingGameClient extends JPanel implements ActionListener, KeyLis
         g.fillRect(playerX, playerY - 10, currentBarWidth, barHeight);
     }
 
-    // 게임 내 동적 요소 (이동 및 미사일)
-    public void actionPerformed(ActionEvent e) {
-        if (System.currentTimeMillis() - lastItemGenerationTime > ITEM_GENERATION_INTERVAL && lastItemGenerationTime > 0) {
-            generateItems();
-        }
-        if (System.currentTimeMillis() - lastItemGenerationTime > ITEM_GENERATION_INTERVAL) {
-            lastItemGenerationTime = System.currentTimeMillis();
-        }
-        if (keys[KeyEvent.VK_LEFT]) {
-            playerX -= speed;
-            directionX = -1;
-        } else if (keys[KeyEvent.VK_RIGHT]) {
-            playerX += speed;
-            directionX = 1;
-        } else {
-            directionX = 0;
+    // 고정 틱 게임 루프: 밀린 시간만큼 틱을 진행하고 (입력 전송, 예측 이동) 틱이 끝날 때마다 화면 상태를 새로 만듦
+    // 네트워크가 멈춰도 송신 대기열에 넣기만 하므로 루프와 그리기는 영향을 받지 않음
+    private void gameLoop() {
+        long previous = System.nanoTime();
+        long accumulator = 0;
+        while (!gameOver) {
+            long now = System.nanoTime();
+            accumulator = Math.min(accumulator + now - previous, RoomSimulation.TICK_NANOS * MAX_CATCH_UP_TICKS);
+            previous = now;
+            boolean stepped = false;
+            while (accumulator >= RoomSimulation.TICK_NANOS) {
+                accumulator -= RoomSimulation.TICK_NANOS;
+                step();
+                stepped = true;
+            }
+            if (stepped) frame = captureFrame();
+
+            long delay = RoomSimulation.TICK_NANOS - accumulator - (System.nanoTime() - now);
+            if (delay > 0) {
+                try {
+                    Thread.sleep(delay / 1_000_000, (int) (delay % 1_000_000));
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
         }
+        frame = captureFrame();
+        SwingUtilities.invokeLater(this::showGameOver);
+    }
 
-        if (keys[KeyEvent.VK_UP]) {
-            playerY -= speed;
-            directionY = -1;
-        } else if (keys[KeyEvent.VK_DOWN]) {
-            playerY += speed;
-            directionY = 1;
-        } else {
-            directionY = 0;
+    // 틱 1회: 속도 효과 만료, 입력 전송과 예측 이동 (미사일 이동과 피격 판정은 서버 틱에서 처리)
+    private void step() {
+        if (System.currentTimeMillis() > speedBoostEndTime) {
+            speed = RoomSimulation.DEFAULT_SPEED;
         }
+        if (!spectating) sendInput();
+        detectCollisions();
+    }
 
-        if (directionX != 0 || directionY != 0) {
-            lastDirectionX = directionX;
-            lastDirectionY = directionY;
-        }
-        if (System.currentTimeMillis() > speedBoostEndTime) {
-            speed = 5;
+    // 현재 상태를 렌더러용 불변 화면 상태로 복사
+    private Frame captureFrame() {
+        int x, y;
+        synchronized (predictionLock) {
+            x = playerX;
+            y = playerY;
         }
 
-        // X축 이동 제한 (맵 가로 경계)
-        playerX = Math.max(5, Math.min(playerX, getWidth() - playerImage.getWidth(null)+30));
-
-        // Y축 이동 제한 (플레이어 역할에 따른 영역 제한)
-        if ("Player1".equals(playerRole)) {
-            // Player1은 울타리 아래쪽에서만 이동 가능
-            playerY = Math.max(
-                    wallBounds.y + wallBounds.height - 5, // 울타리 아래쪽 경계
-                    Math.min(playerY, getHeight() - playerImage.getHeight(null)+30) // 화면 하단 경계
-            );
-        } else {
-            // Player2는 울타리 위쪽에서만 이동 가능
-            playerY = Math.max(
-                    10, // 화면 위쪽 경계
-                    Math.min(playerY, wallBounds.y - 20) // 울타리 상단 경계까지 이동 가능
-            );
+        GameData.Item[] itemArray;
+        synchronized (items) {
+            itemArray = items.values().toArray(new GameData.Item[0]);
         }
 
-        missiles.forEach(Missile::update);
-        missiles.removeIf(missile -> missile.isOutOfBounds(getWidth(), getHeight()));
+        // 서버가 보낸 생성 정보로 현재 추정 틱의 위치를 계산
+        int[] missileX, missileY, missileOwner;
+        int visible = 0;
+        synchronized (missiles) {
+            int count = latestState != null ? missiles.size() : 0;
+            missileX = new int[count];
+            missileY = new int[count];
+            missileOwner = new int[count];
+            double tick = estimatedServerTick();
+            for (int i = 0; i < count; i++) {
+                int mx = missiles.xAt(i, tick);
+                int my = missiles.yAt(i, tick);
+                if (mx < 0 || mx > RoomSimulation.WIDTH || my < 0 || my > RoomSimulation.HEIGHT) continue;
+                missileX[visible] = mx;
+                missileY[visible] = my;
+                missileOwner[visible] = missiles.owner[i];
+                visible++;
+            }
+        }
 
+        int[] otherX, otherY, otherSprite, otherHp;
+        int others = 0;
         synchronized (otherPlayers) {
+            int count = otherPlayers.size();
+            otherX = new int[count];
+            otherY = new int[count];
+            otherSprite = new int[count];
+            otherHp = new int[count];
             for (GameData data : otherPlayers.values()) {
-                data.getMissiles().forEach(Missile::update);
-                data.getMissiles().removeIf(missile -> missile.isOutOfBounds(getWidth(), getHeight()));
+                int sprite = "Player1".equals(data.getPlayerRole()) ? 0 : 1;
+                Rectangle player = interpolatedPosition(sprite, data.getPlayer());
+                if (player.x == 0 && player.y == 0) continue;
+                otherX[others] = player.x;
+                otherY[others] = player.y;
+                otherSprite[others] = sprite;
+                otherHp[others] = data.getHp();
+                others++;
             }
         }
 
-        detectCollisions();
-        sendPlayerData();
+        return new Frame(x, y, playerHP,
+                Arrays.copyOf(otherX, others), Arrays.copyOf(otherY, others), Arrays.copyOf(otherSprite, others), Arrays.copyOf(otherHp, others),
+                Arrays.copyOf(missileX, visible), Arrays.copyOf(missileY, visible), Arrays.copyOf(missileOwner, visible),
+                itemArray);
+    }
+
+    // 게임 종료 팝업 (EDT)
+    private void showGameOver() {
         repaint();
+        String message = isWinner ? "게임 오버! You Win!" : "게임 오버! You Lose!"; // 게임 종료시 팝업 표시해줌
+        if (spectating) message = winnerRole != null ? "게임 오버! " + winnerRole + " 승리!" : "경기가 중단되었습니다.";
+        JOptionPane.showMessageDialog(this, message);
+        System.exit(0);
     }
 
-    // 제거된 아이템을 서버를 통해 다른 클라이언트에게 전달
-    private void sendItemRemovalToServer(GameData.Item item) {
-        try {
-            // 제거된 아이템의 ID를 itemRemoved로 설정
-            GameData data = new GameData(
-                    clientId,
-                    null, // 플레이어 정보는 전달하지 않음
-                    null, // 미사일 정보는 전달하지 않음
-                    null, // 추가 아이템 없음
-                    "room_1", // 현재 방 ID
-                    playerRole,
-                    playerHP
-            );
-            data.setItemRemoved(item.getId()); // 제거된 아이템 ID 설정
-            out.writeObject(data); // 서버로 데이터 전송
-            out.flush();
-        } catch (IOException e) {
-            System.err.println("아이템 제거 전송 오류: " + e.getMessage());
+    // 충돌 관련 함수 (미사일 피격과 아이템 줍기는 서버가 판정해 HP / 아이템 제거로 내려줌)
+    private void detectCollisions() {
+        // 플레이어의 HP가 0이면 게임 종료
+        if (!spectating && playerHP <= 0) {
+            gameOver = true;
         }
     }
 
-    // 충돌 관련 함수
-    private void detectCollisions() {
-        // 1. 미사일 충돌 처리
-        synchronized (otherPlayers) {
-            for (Iterator<Missile> it = missiles.iterator(); it.hasNext(); ) {
-                Missile missile = it.next();
-                for (GameData data : otherPlayers.values()) {
-                    Rectangle otherPlayer = data.getPlayer();
-                    if (otherPlayer != null && missile.getX() >= otherPlayer.x && missile.getX() <= otherPlayer.x + otherPlayer.width &&
-                            missile.getY() >= otherPlayer.y && missile.getY() <= otherPlayer.y + otherPlayer.height) {
-                        it.remove(); // 미사일 제거
-                        break; // 더 이상 충돌 체크 불필요
-                    }
-                }
+    // 서버로 입력 전달 (서버 틱 1회분)
+    private void sendInput() {
+        int held = heldButtons;
+        int buttons = 0;
+        if ((held & InputCommand.LEFT) != 0) buttons |= InputCommand.LEFT;
+        else if ((held & InputCommand.RIGHT) != 0) buttons |= InputCommand.RIGHT;
+        if ((held & InputCommand.UP) != 0) buttons |= InputCommand.UP;
+        else if ((held & InputCommand.DOWN) != 0) buttons |= InputCommand.DOWN;
+        if (fireRequested.getAndSet(false)) {
+            buttons |= InputCommand.FIRE;
+        }
+        InputCommand input;
+        synchronized (predictionLock) {
+            input = new InputCommand(++inputSequence, lastAckTick, buttons, speed);
+            unackedInputs[input.getSequence() % INPUT_BUFFER] = input;
+            int slot = mySlot;
+            if (slot >= 0) {
+                int predictedSpeed = RoomSimulation.clampSpeed(speed);
+                playerX = RoomSimulation.moveX(slot, playerX, buttons, predictedSpeed);
+                playerY = RoomSimulation.moveY(slot, playerY, buttons, predictedSpeed);
             }
         }
+        outbound.offer(input, true);
+    }
 
-        synchronized (otherPlayers) {
-            for (GameData data : otherPlayers.values()) {
-                List<Missile> otherMissiles = data.getMissiles();
-                for (Iterator<Missile> it = otherMissiles.iterator(); it.hasNext(); ) {
-                    Missile missile = it.next();
-                    if (missile.getX() >= playerX && missile.getX() <= playerX + playerImage.getWidth(null) &&
-                            missile.getY() >= playerY && missile.getY() <= playerY + playerImage.getHeight(null)) {
-                        playerHP--; // 자신의 HP 감소
-                        it.remove(); // 미사일 제거
-                        sendPlayerData(); // 자신의 HP 정보 서버로 전송
-                    }
-                }
+    // 송신 스레드: 쌓인 입력을 한 번에 flush
+    private void sendLoop() {
+        List<NetMessage> batch = new ArrayList<>(OutboundQueue.MAX_BATCH);
+        try {
+            while (outbound.awaitAndDrain(batch, OutboundQueue.MAX_BATCH) > 0) {
+                codec.writeAll(batch);
+                batch.clear();
             }
+        } catch (IOException e) {
+            System.err.println("데이터 전송 오류: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
+    }
 
-        // 2. 아이템 충돌 처리 (단순 제거 요청)
-        synchronized (items) {
-            Iterator<GameData.Item> itemIterator = items.iterator();
-            while (itemIterator.hasNext()) {
-                GameData.Item item = itemIterator.next();
-                Rectangle itemBounds = new Rectangle(item.getX(), item.getY(), 30, 30);
-                Rectangle playerBounds = new Rectangle(playerX, playerY, 50, 50);
-
-                if (itemBounds.intersects(playerBounds)) {
-                    if ("speedDown".equals(item.getType())) {
-                        speed = 2; // 이동 속도 감소
-                        speedBoostEndTime = System.currentTimeMillis() + 5000; // 5초 동안 지속
-                    } else if ("speed".equals(item.getType())) {
-                        speed = 7; // 이동 속도 증가
-                        speedBoostEndTime = System.currentTimeMillis() + 5000; // 5초 동안 지속
-                    }
-                    itemIterator.remove(); // 아이템 제거
-                    sendItemRemovalToServer(item); // 서버에 아이템 제거 요청
-                }
+    // 서버 위치에서 시작해 아직 확인되지 않은 입력을 다시 적용
+    private void reconcile(int slot, WorldState state, int ackSequence) {
+        synchronized (predictionLock) {
+            mySlot = slot;
+            int x = state.x[slot];
+            int y = state.y[slot];
+            for (int sequence = ackSequence + 1; sequence <= inputSequence; sequence++) {
+                InputCommand input = unackedInputs[sequence % INPUT_BUFFER];
+                if (input == null || input.getSequence() != sequence) continue;
+                int predictedSpeed = RoomSimulation.clampSpeed(input.getSpeed());
+                x = RoomSimulation.moveX(slot, x, input.getButtons(), predictedSpeed);
+                y = RoomSimulation.moveY(slot, y, input.getButtons(), predictedSpeed);
             }
+            playerX = x;
+            playerY = y;
         }
+    }
 
-        // 3. 플레이어의 HP가 0이면 게임 종료
-        if (playerHP <= 0) {
-            gameOver = true;
-        }
+    // 마지막 스냅샷 틱 + 수신 후 경과 시간으로 추정한 현재 서버 틱
+    private double estimatedServerTick() {
+        double elapsedTicks = (System.nanoTime() - lastStateReceivedAt) / (double) RoomSimulation.TICK_NANOS;
+        return lastAckTick + Math.min(elapsedTicks, MAX_EXTRAPOLATION_TICKS);
     }
 
-    // 서버로 플레이어 데이터 전달
-    private void sendPlayerData() {
-        try {
-            GameData data = new GameData(
-                    clientId,
-                    new Rectangle(playerX, playerY, playerImage.getWidth(null), playerImage.getHeight(null)),
-                    new ArrayList<>(missiles),
-                    null, // 아이템 제거는 별도로 처리하므로 null
-                    "room_1", // 고정된 방 ID
-                    playerRole,
-                    playerHP
-            );
-            out.writeObject(data); // 서버로 데이터 전송
-            out.flush();
-        } catch (IOException e) {
-            System.err.println("데이터 전송 오류: " + e.getMessage());
+    // 추정한 서버 틱보다 INTERPOLATION_DELAY_TICKS 만큼 과거 위치를 앞뒤 스냅샷 사이에서 보간
+    private Rectangle interpolatedPosition(int slot, Rectangle latest) {
+        int latestTick = lastAckTick;
+        if (latestTick < 0) return latest;
+        double renderTick = estimatedServerTick() - interpolationDelayTicks;
+        int fromTick = Math.min((int) Math.floor(renderTick), latestTick);
+
+        WorldState from = null;
+        for (int tick = fromTick; tick >= 0 && tick > latestTick - STATE_HISTORY && from == null; tick--) {
+            WorldState state = receivedStates[tick % STATE_HISTORY];
+            if (state != null && state.tick == tick) from = state;
+        }
+        WorldState to = null;
+        for (int tick = fromTick + 1; tick <= latestTick && to == null; tick++) {
+            WorldState state = receivedStates[tick % STATE_HISTORY];
+            if (state != null && state.tick == tick) to = state;
         }
+        if (from == null) return latest;
+        if (to == null) return new Rectangle(from.x[slot], from.y[slot], latest.width, latest.height);
+
+        double alpha = Math.max(0, Math.min(1, (renderTick - from.tick) / (to.tick - from.tick)));
+        int x = (int) Math.round(from.x[slot] + (to.x[slot] - from.x[slot]) * alpha);
+        int y = (int) Math.round(from.y[slot] + (to.y[slot] - from.y[slot]) * alpha);
+        return new Rectangle(x, y, latest.width, latest.height);
     }
 
-    // 아이템 생성 함수
-    private void generateItems() {
-        // 일정 시간마다 아이템을 두 개 생성
-        if (System.currentTimeMillis() - lastItemGenerationTime > ITEM_GENERATION_INTERVAL) {
-            lastItemGenerationTime = System.currentTimeMillis();
-
-            // 아이템 크기 설정
-            int itemWidth = 30;
-            int itemHeight = 30;
-
-            // 울타리 위쪽과 아래쪽 Y 위치 랜덤화
-            int upperY = (int) (Math.random() * (wallBounds.y)); // 울타리 위쪽에서 랜덤 위치
-            int lowerY = (int) (Math.random() * (getHeight() - wallBounds.y - wallBounds.height) + (wallBounds.y + wallBounds.height)); // 울타리 아래쪽에서 랜덤 위치
-
-            // X 위치는 화면 너비 내에서 랜덤으로 설정
-            int upperX = (int) (Math.random() * (getWidth() - itemWidth)); // 화면 너비 내에서 랜덤 위치
-            int lowerX = (int) (Math.random() * (getWidth() - itemWidth)); // 화면 너비 내에서 랜덤 위치
-
-            // 아이템 종류 랜덤 (speedUp, speedDown)
-            String[] itemTypes = {"speed", "speedDown"};
-            String itemType1 = itemTypes[(int) (Math.random() * itemTypes.length)];
-            String itemType2 = itemTypes[(int) (Math.random() * itemTypes.length)];
-
-            // Rectangle 객체로 bounds 생성
-            Rectangle bounds1 = new Rectangle(upperX, upperY, itemWidth, itemHeight);
-            Rectangle bounds2 = new Rectangle(lowerX, lowerY, itemWidth, itemHeight);
-
-            // 아이템 생성
-            GameData.Item item1 = new GameData.Item(UUID.randomUUID().toString(), bounds1, itemType1);
-            GameData.Item item2 = new GameData.Item(UUID.randomUUID().toString(), bounds2, itemType2);
-
-            // 생성된 아이템 리스트에 추가
-            synchronized (items) {
-                items.add(item1);
-                items.add(item2);
+    // 스냅샷/델타를 적용해 상태 갱신 (기준 상태가 없으면 버리고 다음 전체 스냅샷을 기다림)
+    private void applySnapshot(StateSnapshot snapshot) {
+        WorldState base = null;
+        if (!snapshot.isFull()) {
+            base = receivedStates[snapshot.getBaseTick() % STATE_HISTORY];
+            if (base == null || base.tick != snapshot.getBaseTick()) return;
+        }
+        WorldState state = snapshot.apply(base);
+        receivedStates[state.tick % STATE_HISTORY] = state;
+        lastStateReceivedAt = System.nanoTime();
+        lastAckTick = state.tick;
+        latestState = state;
+        syncMissiles(state);
+
+        for (int slot = 0; slot < WorldState.SLOTS; slot++) {
+            String ownerId = state.clientIds[slot];
+            if (ownerId == null) continue;
+            if (ownerId.equals(clientId)) {
+                reconcile(slot, state, snapshot.getAckSequence());
+                playerHP = state.hp[slot];
+            } else {
+                String role = slot == 0 ? "Player1" : "Player2";
+                GameData other = new GameData(ownerId, new Rectangle(state.x[slot], state.y[slot], 50, 50),
+                        null, null, null, role, state.hp[slot]);
+                synchronized (otherPlayers) {
+                    otherPlayers.put(ownerId, other);
+                }
             }
-
-            // 생성된 아이템 서버에 전송
-            sendItemToServer(item1);
-            sendItemToServer(item2);
         }
     }
 
-    // 서버로 아이템 전달
-    private void sendItemToServer(GameData.Item item) {
-        try {
-            GameData data = new GameData(
-                    clientId,
-                    null, // 플레이어 정보는 전달하지 않음
-                    null, // 미사일 정보는 전달하지 않음
-                    Collections.singletonList(item), // 아이템 정보만 전송
-                    "room_1", // 현재 방 ID
-                    playerRole,
-                    playerHP
-            );
-            out.writeObject(data);
-            out.flush();
-        } catch (IOException e) {
-            System.err.println("아이템 전송 오류: " + e.getMessage());
+    // 스냅샷에 없는 미사일은 제거하고 새로 생긴 미사일만 풀에 추가
+    private void syncMissiles(WorldState state) {
+        int record = MissilePool.RECORD;
+        int count = state.missileCount();
+        synchronized (missiles) {
+            for (int i = 0; i < missiles.size(); ) {
+                if (!state.hasMissile(missiles.id[i])) {
+                    missiles.remove(i);
+                } else {
+                    i++;
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                if (missiles.indexOf(state.missileId(i)) < 0) {
+                    missiles.spawnRecord(state.missiles, i * record, state.tick);
+                }
+            }
         }
     }
 
@@ -392,87 +424,111 @@ public class ShootingGameClient extends JPanel implements ActionListener, KeyLis
     private void receiveData() {
         try {
             while (true) {
-                GameData serverData = (GameData) in.readObject();
-
-                // 다른 플레이어 정보 업데이트
-                synchronized (otherPlayers) {
-                    if (serverData.getPlayer() == null) {
-                        otherPlayers.remove(serverData.getClientId());
-                    } else {
-                        otherPlayers.put(serverData.getClientId(), serverData);
+                NetMessage message = codec.read();
+                if (message instanceof StateSnapshot snapshot) {
+                    applySnapshot(snapshot);
+                    continue;
+                }
+                GameData serverData = (GameData) message;
+
+                // 관전 요청 응답: 볼 경기가 없으면 잠시 뒤 다시 요청
+                if (spectating && SpectatorFeed.ROLE.equals(serverData.getPlayerRole())) {
+                    if (serverData.getRoomId() == null) {
+                        System.out.println("관전할 경기가 없습니다. 1초 뒤 다시 요청합니다.");
+                        Thread.sleep(1_000);
+                        outbound.offer(watchRequest(), false);
                     }
+                    continue;
                 }
 
-                // 아이템 정보 업데이트
-                synchronized (items) {
-                    if (serverData.getItems() != null) {
-                        for (GameData.Item newItem : serverData.getItems()) {
-                            boolean exists = items.stream().anyMatch(existingItem -> existingItem.getId().equals(newItem.getId()));
-                            if (!exists) {
-                                items.add(newItem);
-                            }
-                        }
+                // 아이템 생성/제거 이벤트 (제거 프레임의 clientId 는 주운 플레이어)
+                if (serverData.getItemRemoved() != null) {
+                    GameData.Item removed;
+                    synchronized (items) {
+                        removed = items.remove(serverData.getItemRemoved());
                     }
-
-                    // 제거 요청된 아이템 삭제
-                    if (serverData.getItemRemoved() != null) {
-                        items.removeIf(item -> item.getId().equals(serverData.getItemRemoved()));
+                    if (removed != null && clientId.equals(serverData.getClientId())) {
+                        applyItemEffect(removed);
                     }
-
-                    // 디버깅용: 현재 아이템 리스트 출력
-                    // System.out.println("현재 아이템 리스트: " + items);
+                    continue;
                 }
-
-                // 플레이어 HP 및 기타 정보 업데이트
-                synchronized (otherPlayers) {
-                    GameData otherPlayerData = otherPlayers.get(serverData.getClientId());
-                    if (otherPlayerData != null) {
-                        if (serverData.getClientId().equals(clientId)) {
-                            // 자신의 데이터인 경우 HP 동기화
-                            playerHP = serverData.getHp();
-                        } else {
-                            // 다른 플레이어 데이터 업데이트
-                            otherPlayerData.setHp(serverData.getHp());
+                if (!serverData.getItems().isEmpty()) {
+                    synchronized (items) {
+                        for (GameData.Item item : serverData.getItems()) {
+                            items.putIfAbsent(item.getId(), item);
                         }
                     }
                 }
 
+                // 플레이어 상태 업데이트 (서버 틱마다 방의 모든 플레이어 상태가 내려옴)
+                if (clientId.equals(serverData.getClientId())) {
+                    // 자신의 데이터인 경우 HP 동기화 (미사일은 스냅샷으로 받음)
+                    playerHP = serverData.getHp();
+                } else if (serverData.getClientId() != null && serverData.getPlayer() != null) {
+                    synchronized (otherPlayers) {
+                        otherPlayers.put(serverData.getClientId(), serverData);
+                    }
+                }
+
                 // 게임 종료 상태 처리
                 if (serverData.isGameOver()) {
+                    winnerRole = serverData.isWinner() ? serverData.getPlayerRole() : null;
                     gameOver = true;
                     isWinner = serverData.isWinner();
                 }
-                repaint(); // 화면 갱신
             }
-        } catch (IOException | ClassNotFoundException e) {
+        } catch (IOException e) {
             System.err.println("서버와의 연결이 끊겼습니다: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            outbound.close();
         }
     }
 
+    // 관전 요청 (roomId 가 없으면 서버가 관전자가 가장 많은 경기를 고름)
+    private static GameData watchRequest() {
+        String roomId = "any".equals(SPECTATE) ? null : SPECTATE;
+        GameData request = new GameData(null, null, null, null, roomId, SpectatorFeed.ROLE, 0);
+        request.setPlayer(null);
+        return request;
+    }
+
+    // 서버가 적용한 속도 효과를 예측에도 반영
+    private void applyItemEffect(GameData.Item item) {
+        speed = ItemManager.SPEED_UP.equals(item.getType()) ? RoomSimulation.MAX_SPEED : RoomSimulation.MIN_SPEED;
+        speedBoostEndTime = System.currentTimeMillis() + RoomSimulation.EFFECT_TICKS * 1000L / RoomSimulation.TICK_RATE;
+    }
+
     // 키 이벤트 처리
     public void keyPressed(KeyEvent e) {
-        keys[e.getKeyCode()] = true;
+        heldButtons |= directionBit(e.getKeyCode());
         if (e.getKeyCode() == KeyEvent.VK_SPACE && !isSpacePressed) {
             isSpacePressed = true;
             shootMissile();
         }
     }
     public void keyReleased(KeyEvent e) {
-        keys[e.getKeyCode()] = false;
+        heldButtons &= ~directionBit(e.getKeyCode());
         if (e.getKeyCode() == KeyEvent.VK_SPACE) {
             isSpacePressed = false;
         }
     }
     public void keyTyped(KeyEvent e) {}
 
-    // 미사일 발사
-    private void shootMissile() {
-        int missileX = playerX + playerImage.getWidth(null) / 2 - missileImage.getWidth(null) / 2;
-        int missileY = playerY + playerImage.getHeight(null) / 2 - missileImage.getHeight(null) / 2;
+    private static int directionBit(int keyCode) {
+        return switch (keyCode) {
+            case KeyEvent.VK_LEFT -> InputCommand.LEFT;
+            case KeyEvent.VK_RIGHT -> InputCommand.RIGHT;
+            case KeyEvent.VK_UP -> InputCommand.UP;
+            case KeyEvent.VK_DOWN -> InputCommand.DOWN;
+            default -> 0;
+        };
+    }
 
-        // 마지막 저장된 방향으로 미사일 발사
-        Missile newMissile = new Missile(missileX, missileY, lastDirectionX, lastDirectionY);
-        missiles.add(newMissile);
+    // 미사일 발사 (다음 입력에 발사 비트를 실어 보내고 미사일은 서버가 생성)
+    private void shootMissile() {
+        fireRequested.set(true);
     }
 
     public static void main(String[] args) {
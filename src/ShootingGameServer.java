@@ -3,347 +3,369 @@ import java.io.*;
 import java.net.*;
 import java.util.*;
 import java.util.List;
-import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import java.util.concurrent.*;
 
 public class ShootingGameServer {
     private static final int PORT = 12345;
-    private final List<Room> rooms = Collections.synchronizedList(new ArrayList<>());
-    private final Map<String, Room> clientRoomMap = Collections.synchronizedMap(new HashMap<>());
-    private final ServerGUI gui;
+    // -Dshooting.server.mode=thread (기본값, 연결당 플랫폼 스레드) | virtual (연결당 가상 스레드) | nio (Selector 이벤트 루프)
+    static final String SERVER_MODE = System.getProperty("shooting.server.mode", "thread");
+    // -Dshooting.server.headless=true 이거나 디스플레이가 없으면 GUI 없이 실행
+    static final boolean HEADLESS = Boolean.getBoolean("shooting.server.headless") || GraphicsEnvironment.isHeadless();
+    private final List<ServerObserver> observers = new CopyOnWriteArrayList<>();
+    private final RoomRegistry registry = new RoomRegistry(observers);
+    private final Matchmaker matchmaker = new Matchmaker(registry::create);
+    private final ServerMetrics metrics = new ServerMetrics(registry);
+    private final ThreadFactory clientThreads = "virtual".equals(SERVER_MODE)
+            ? Thread.ofVirtual().name("client-", 0).factory()
+            : Thread.ofPlatform().name("client-", 0).factory();
+    // 송신 스레드는 모드와 관계없이 가상 스레드 (thread 모드에서도 연결당 플랫폼 스레드는 읽기 하나만)
+    private final ThreadFactory writerThreads = Thread.ofVirtual().name("writer-", 0).factory();
+
+    void addObserver(ServerObserver observer) {
+        observers.add(observer);
+    }
+
+    void removeObserver(ServerObserver observer) {
+        observers.remove(observer);
+    }
+
+    void log(String message) {
+        log(GameLog.Level.INFO, message, null, null, null);
+    }
 
-    public ShootingGameServer() {
-        gui = new ServerGUI();
+    // 비동기 로거(콘솔)와 구독자에게 로그 전달
+    void log(GameLog.Level level, String message, String roomId, String clientId, Object detail) {
+        GameLog.log(level, message, roomId, clientId, detail);
+        if (observers.isEmpty() || !GameLog.enabled(level)) return;
+        String line = GameLog.format(message, roomId, clientId, detail);
+        for (ServerObserver observer : observers) {
+            observer.onLog(line);
+        }
     }
 
     public void start() {
-        System.out.println("서버가 시작되었습니다.");
-        System.out.println("클라이언트를 기다리는 중...");
-        gui.log("서버가 시작되었습니다.\n클라이언트를 기다리는 중...");
+        log("서버가 시작되었습니다.");
+        log("클라이언트를 기다리는 중...");
+        startMemoryReport();
+        metrics.start(this);
+
+        if ("nio".equals(SERVER_MODE)) {
+            try {
+                new NioGameServer(this).start(PORT);
+            } catch (IOException e) {
+                log(GameLog.Level.ERROR, "서버 에러", null, null, e.getMessage());
+            }
+            return;
+        }
+
+        if (SpectatorFeed.PORT > 0) {
+            Thread.ofPlatform().name("spectator-accept").daemon().start(() -> acceptLoop(SpectatorFeed.PORT, true));
+        }
+        acceptLoop(PORT, false);
+    }
 
-        try (ServerSocket serverSocket = new ServerSocket(PORT)) {
+    private void acceptLoop(int port, boolean spectator) {
+        try (ServerSocket serverSocket = new ServerSocket(port)) {
             while (true) {
                 Socket socket = serverSocket.accept();
-                System.out.println("새 클라이언트 연결: " + socket.getInetAddress().getHostAddress());
-                gui.log("새 클라이언트 연결: " + socket.getInetAddress().getHostAddress());
-                new ClientHandler(socket).start();
+                ServerMetrics.recordAccept();
+                log(GameLog.Level.INFO, spectator ? "새 관전자 연결" : "새 클라이언트 연결", null, null, socket.getInetAddress().getHostAddress());
+                clientThreads.newThread(new ClientHandler(socket, spectator)).start();
             }
         } catch (IOException e) {
-            gui.log("서버 에러: " + e.getMessage());
-            System.out.println("서버 에러: " + e.getMessage());
+            log(GameLog.Level.ERROR, "서버 에러", null, null, e.getMessage());
         }
     }
 
-    private synchronized Room findOrCreateRoom(ClientHandler client) {
-        for (Room room : rooms) {
-            if (!room.isFull()) {
-                room.addPlayer(client);
-                clientRoomMap.put(client.getClientId(), room);
-                updateRoomTable();
-                return room;
-            }
+    // 플레이어의 첫 프레임: 참가 요청이면 그 조건으로, 아니면 ANY 로 매칭하고 그 프레임은 보통 메시지로 처리
+    Room onFirstMessage(PlayerConnection client, NetMessage first) throws IOException {
+        MatchCriteria criteria = MatchCriteria.fromJoinRequest(first);
+        Room room = onConnect(client, criteria != null ? criteria : MatchCriteria.ANY);
+        if (criteria == null) onMessage(client, room, first);
+        return room;
+    }
+
+    // 새 연결을 방에 배정하고 초기 데이터 전송 (모든 서버 모드 공통), 관전자는 방 없이 초기 데이터만 보내고 null
+    // 플레이어는 첫 프레임(onFirstMessage)을 받거나 그 대기 시간이 지난 뒤(ANY), 관전자는 접속하자마자 호출
+    Room onConnect(PlayerConnection client, MatchCriteria criteria) throws IOException {
+        if (client.isSpectator()) {
+            log(GameLog.Level.INFO, "관전자 연결됨", null, client.getClientId(), null);
+            GameData initialData = new GameData(client.getClientId(), null, null, null, null, SpectatorFeed.ROLE, 0);
+            initialData.setPlayer(null);
+            client.sendData(initialData);
+            return null;
+        }
+        Room room = matchmaker.join(client, criteria);
+        registry.bind(client, room);
+        client.setPlayerRole(room.getPlayerRole(client));
+
+        log(GameLog.Level.INFO, "클라이언트 연결됨", room.getRoomId(), client.getClientId(), null);
+        for (ServerObserver observer : observers) {
+            observer.onClientConnected(client.getClientId(), room.getRoomId());
         }
 
-        Room newRoom = new Room(UUID.randomUUID().toString());
-        newRoom.addPlayer(client);
-        rooms.add(newRoom);
-        clientRoomMap.put(client.getClientId(), newRoom);
-        updateRoomTable();
-        return newRoom;
+        GameData initialData = new GameData(client.getClientId(), new Rectangle(), new ArrayList<>(), new ArrayList<>(), room.getRoomId(), client.getPlayerRole(), client.getHp());
+        client.sendData(initialData);
+        return room;
     }
 
-    private void updateRoomTable() {
-        SwingUtilities.invokeLater(() -> {
-            DefaultTableModel model = gui.getRoomTableModel();
-            model.setRowCount(0);
-            synchronized (rooms) {
-                for (Room room : rooms) {
-                    model.addRow(new Object[]{room.getRoomId(), room.getPlayerCount()});
-                }
-            }
-        });
+    // 수신한 프레임 처리
+    void onMessage(PlayerConnection client, Room room, NetMessage message) {
+        if (client.isSpectator()) {
+            if (message instanceof GameData data) watch(client, data.getRoomId());
+            return;
+        }
+        if (message instanceof InputCommand input) {
+            room.processInput(input, client);
+        } else if (message instanceof GameData data) {
+            data.setClientId(client.getClientId());
+            room.processGameData(data, client);
+        }
     }
 
+    // 관전 요청: roomId 의 방, null 이거나 없는 방이면 관전자가 가장 많은 경기
+    // 응답(역할 Spectator, 보게 된 roomId, 볼 경기가 없으면 null)을 먼저 보낸 뒤 관전 프레임을 붙임
+    private void watch(PlayerConnection spectator, String roomId) {
+        Room target = roomId != null ? registry.get(roomId) : null;
+        if (target == null) target = registry.mostWatched();
+        Room previous = registry.watch(spectator.getClientId(), target);
+        if (previous != null && previous != target) previous.removeSpectator(spectator);
+
+        GameData reply = new GameData(spectator.getClientId(), null, null, null,
+                target != null ? target.getRoomId() : null, SpectatorFeed.ROLE, 0);
+        reply.setPlayer(null);
+        try {
+            spectator.sendData(reply);
+        } catch (IOException e) {
+            log(GameLog.Level.WARN, "관전 응답 전송 오류", roomId, spectator.getClientId(), e.getMessage());
+            return;
+        }
+        if (target != null) {
+            target.addSpectator(spectator);
+            registry.spectatorsChanged(target);
+        }
+        log(GameLog.Level.DEBUG, "관전 시작", target != null ? target.getRoomId() : null, spectator.getClientId(), null);
+    }
 
-    protected class ClientHandler extends Thread {
+    // 연결 종료 시 방 정리
+    void onDisconnect(PlayerConnection client, ServerMetrics.DisconnectReason reason) {
+        ServerMetrics.recordDisconnect(reason);
+        if (client.isSpectator()) {
+            log(GameLog.Level.INFO, "관전자 연결 종료", null, client.getClientId(), reason.label);
+            Room watched = registry.watch(client.getClientId(), null);
+            if (watched != null) watched.removeSpectator(client);
+            return;
+        }
+        log(GameLog.Level.INFO, "클라이언트 연결 종료", null, client.getClientId(), reason.label);
+        for (ServerObserver observer : observers) {
+            observer.onClientDisconnected(client.getClientId());
+        }
+
+        Room room = registry.unbind(client.getClientId());
+        if (room != null) {
+            room.removePlayer(client);
+            registry.updated(room);
+            matchmaker.requeue(room);
+        }
+    }
+
+    RoomRegistry getRegistry() {
+        return registry;
+    }
+
+    // -Dshooting.memory.reportInterval=초 (기본 60, 0 이면 끔) 마다 연결별 메모리 사용량 요약
+    private void startMemoryReport() {
+        int interval = Integer.getInteger("shooting.memory.reportInterval", 60);
+        if (interval <= 0) return;
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("memory-report").daemon().factory());
+        reporter.scheduleAtFixedRate(this::reportMemory, interval, interval, TimeUnit.SECONDS);
+    }
+
+    void reportMemory() {
+        int count = 0;
+        long total = 0, max = 0, queued = 0;
+        String maxClient = null;
+        for (PlayerConnection connection : registry.connections()) {
+            long retained = connection.getRetainedBytes();
+            count++;
+            total += retained;
+            queued += connection.getOutboundDepth();
+            if (retained > max) {
+                max = retained;
+                maxClient = connection.getClientId();
+            }
+        }
+        if (count == 0) return;
+        log(String.format("연결 메모리: %d개, 평균 %.1fKB, 최대 %.1fKB (%s), 송신 대기 %d개",
+                count, total / 1024.0 / count, max / 1024.0, maxClient, queued));
+    }
+
+    protected class ClientHandler implements Runnable, PlayerConnection {
         private final Socket socket;
-        private ObjectOutputStream out;
-        private ObjectInputStream in;
+        private final boolean spectator;
+        private volatile GameCodec codec;
+        private final OutboundQueue outbound = new OutboundQueue();
+        private final ConnectionMetrics metrics = new ConnectionMetrics();
+        private volatile boolean overflowed; // 송신 대기열이 넘쳐 서버가 끊음
+        private boolean disconnected; // run() 스레드 전용
         private String clientId;
         private int hp = 5;
         private String playerRole;
         private GameData gameData;
 
+        @Override
         public int getHp() {
             return hp;
         }
+        @Override
         public void setHp(int hp) {
             this.hp = hp;
         }
 
         public ClientHandler(Socket socket) {
+            this(socket, false);
+        }
+
+        public ClientHandler(Socket socket, boolean spectator) {
             this.socket = socket;
+            this.spectator = spectator;
             this.clientId = UUID.randomUUID().toString(); // clientId 생성
             this.gameData = new GameData(clientId, new Rectangle(0, 0, 50, 50), new ArrayList<>(), new ArrayList<>(), null, null, hp);
         }
+        @Override
         public GameData getGameData() {
             return gameData;
         }
 
+        @Override
         public String getClientId() {
             return clientId;
         }
 
+        @Override
         public String getPlayerRole() {
             return playerRole;
         }
 
+        @Override
+        public boolean isSpectator() {
+            return spectator;
+        }
+
+        @Override
+        public void setPlayerRole(String playerRole) {
+            this.playerRole = playerRole;
+        }
+
         @Override
         public void run() {
             try {
-                out = new ObjectOutputStream(socket.getOutputStream());
-                in = new ObjectInputStream(socket.getInputStream());
+                codec = GameCodec.open(socket, metrics);
+                writerThreads.newThread(this::writeLoop).start();
 
                 clientId = UUID.randomUUID().toString();
 
-                Room room = findOrCreateRoom(this);
-                playerRole = room.getPlayerRole(this);
-
-                gui.log("클라이언트 연결됨: " + clientId + " (방: " + room.getRoomId() + ")");
-                gui.addClient(clientId, room.getRoomId());
-
-                GameData initialData = new GameData(clientId, new Rectangle(), new ArrayList<>(), new ArrayList<>(), room.getRoomId(), playerRole, hp);
-                out.writeObject(initialData);
-                out.flush();
+                Room room = spectator ? onConnect(this, null) : awaitJoin();
 
                 while (true) {
-                    GameData data = (GameData) in.readObject();
-                    data.setClientId(clientId);
-                    // HP 감소 처리
-                    if (data.getHp() < hp) {
-                        hp = data.getHp();
-                        if (hp < 0) hp = 0;
-                    }
-                    room.processGameData(data, this);
-                    room.checkGameOver();
-                }
-            } catch (IOException | ClassNotFoundException e) {
-                System.out.println("클라이언트 연결 종료: " + clientId);
-                gui.log("클라이언트 연결 종료: " + clientId);
-
-                Room room = clientRoomMap.get(clientId);
-                if (room != null) {
-                    room.removePlayer(this);
-                    if (room.isEmpty()) {
-                        rooms.remove(room);
-                    }
-                    updateRoomTable();
+                    onMessage(this, room, codec.read());
                 }
+            } catch (IOException e) {
+                disconnect(overflowed ? ServerMetrics.DisconnectReason.OVERFLOW : ServerMetrics.reasonOf(e));
+            } catch (RuntimeException e) {
+                log(GameLog.Level.ERROR, "메시지 처리 오류", null, clientId, e);
+                disconnect(ServerMetrics.DisconnectReason.PROTOCOL);
             } finally {
-                try {
-                    socket.close();
-                } catch (IOException e) {
-                    System.out.println("소켓 닫기 오류: " + e.getMessage());
-                }
+                outbound.close();
+                closeSocket();
+                disconnect(ServerMetrics.DisconnectReason.ERROR); // 위에서 처리되지 않은 종료 (Error 등)
             }
         }
 
-        public void sendData(GameData data) throws IOException {
-            out.writeObject(data);
-            out.flush();
-        }
-    }
-
-    public static void main(String[] args) {
-        new ShootingGameServer().start();
-    }
-}
-
-
-class Room {
-    private final String roomId;
-    private final List<ShootingGameServer.ClientHandler> players = new ArrayList<>(2);
-
-    public Room(String roomId) {
-        this.roomId = roomId;
-    }
-
-    private void broadcastItemRemoval(String itemId) {
-        for (ShootingGameServer.ClientHandler player : players) {
+        // 참가 요청은 MatchCriteria.JOIN_TIMEOUT_MILLIS 까지만 기다림 (초기 데이터부터 읽는 기존 클라이언트는 ANY 로 매칭)
+        private Room awaitJoin() throws IOException {
+            NetMessage first;
+            socket.setSoTimeout(MatchCriteria.JOIN_TIMEOUT_MILLIS);
             try {
-                GameData removalData = player.getGameData();
-                removalData.setItemRemoved(itemId);
-                player.sendData(removalData);
-            } catch (IOException e) {
-                System.out.println("아이템 삭제 정보 전송 오류: " + player.getClientId());
+                first = codec.read();
+            } catch (SocketTimeoutException e) {
+                return onConnect(this, MatchCriteria.ANY);
+            } finally {
+                socket.setSoTimeout(0);
             }
+            return onFirstMessage(this, first);
         }
-    }
 
-    public synchronized void addPlayer(ShootingGameServer.ClientHandler player) {
-        if (players.size() < 2) {
-            players.add(player);
-            if (players.size() == 2) {
-                broadcastGameStart();
-            }
+        // 어떤 경로로 끝나든 방/매칭 정리는 한 번만
+        private void disconnect(ServerMetrics.DisconnectReason reason) {
+            if (disconnected) return;
+            disconnected = true;
+            onDisconnect(this, reason);
         }
-    }
 
-    private void broadcastGameStart() {
-        for (ShootingGameServer.ClientHandler player : players) {
+        // 송신 대기열에서 쌓인 만큼 꺼내 한 번에 flush (느린 클라이언트가 Room 틱을 막지 않음)
+        private void writeLoop() {
+            List<NetMessage> batch = new ArrayList<>(OutboundQueue.MAX_BATCH);
             try {
-                GameData gameStartData = new GameData(player.getClientId(), null, null, null, roomId, player.getPlayerRole(), player.getHp());
-                gameStartData.setGameStarted(true);
-                player.sendData(gameStartData);
-            } catch (IOException e) {
-                System.out.println("게임 시작 메시지 전송 오류: " + player.getClientId());
-            }
-        }
-    }
-
-    public synchronized void removePlayer(ShootingGameServer.ClientHandler player) {
-        players.remove(player);
-    }
-
-    public synchronized boolean isFull() {
-        return players.size() == 2;
-    }
-
-    public synchronized boolean isEmpty() {
-        return players.isEmpty();
-    }
-
-    public String getRoomId() {
-        return roomId;
-    }
-
-    public synchronized int getPlayerCount() {
-        return players.size();
-    }
-
-    public String getPlayerRole(ShootingGameServer.ClientHandler player) {
-        return players.indexOf(player) == 0 ? "Player1" : "Player2";
-    }
-
-    public synchronized void processGameData(GameData data, ShootingGameServer.ClientHandler sender) {
-        // 미사일 처리
-        for (Missile missile : data.getMissiles()) {
-            missile.update();
-
-            if (missile.isProcessed()) continue; // 이미 처리된 미사일은 건너뜀
-
-            for (ShootingGameServer.ClientHandler player : players) {
-                if (!player.equals(sender)) {
-                    Rectangle playerBounds = new Rectangle(player.getGameData().getPlayer().x, player.getGameData().getPlayer().y, 50, 50);
-
-                    if (playerBounds.intersects(missile.getBounds())) {
-                        player.setHp(Math.max(player.getHp() - 1, 0)); // HP 감소, 최소값 0
-                        missile.setProcessed(true); // 충돌 처리 완료
-                        break;
-                    }
+                while (outbound.awaitAndDrain(batch, OutboundQueue.MAX_BATCH) > 0) {
+                    codec.writeAll(batch);
+                    batch.clear();
                 }
+            } catch (IOException | InterruptedException e) {
+                closeSocket(); // 읽기 쪽이 예외로 끝나며 연결 종료 처리
             }
         }
 
-        // 아이템 처리
-        for (Iterator<GameData.Item> iterator = data.getItems().iterator(); iterator.hasNext();) {
-            GameData.Item item = iterator.next();
-
-            if (item.isProcessed()) continue; // 이미 처리된 아이템은 건너뜀
-
-            Rectangle itemBounds = new Rectangle(item.getX(), item.getY(), 30, 30);
-            if (data.getPlayer().intersects(itemBounds)) {
-                item.setProcessed(true); // 아이템 처리 완료
-                iterator.remove();
-                broadcastItemRemoval(item.getId());
-            }
+        @Override
+        public void sendData(NetMessage data) throws IOException {
+            enqueue(data, false);
         }
 
-        // 상태 업데이트
-        data.setHp(sender.getHp());
-        broadcast(data, sender);
-    }
+        @Override
+        public void sendState(NetMessage data) throws IOException {
+            enqueue(data, true);
+        }
 
-    public void broadcast(GameData data, ShootingGameServer.ClientHandler sender) {
-        for (ShootingGameServer.ClientHandler player : players) {
-            if (player != sender) {
-                try {
-                    player.sendData(data);
-                } catch (IOException e) {
-                    System.out.println("데이터 전송 오류: " + player.getClientId());
-                }
+        private void enqueue(NetMessage data, boolean droppable) throws IOException {
+            if (!outbound.offer(data, droppable)) {
+                overflowed = true;
+                closeSocket();
+                throw new IOException("송신 대기열 넘침");
             }
         }
-    }
 
-    public synchronized void checkGameOver() {
-        if (players.size() != 2) return;
-
-        ShootingGameServer.ClientHandler player1 = players.get(0);
-        ShootingGameServer.ClientHandler player2 = players.get(1);
+        @Override
+        public long getRetainedBytes() {
+            GameCodec current = codec;
+            return current != null ? current.retainedBytes() : 0;
+        }
 
-        int player1Hp = player1.getHp();
-        int player2Hp = player2.getHp();
+        @Override
+        public ConnectionMetrics getMetrics() {
+            return metrics;
+        }
 
-        if (player1Hp <= 0 || player2Hp <= 0) {
-            String winner = player1Hp > 0 ? "Player1" : "Player2";
-            broadcastGameOver(winner);
+        @Override
+        public int getOutboundDepth() {
+            return outbound.depth();
         }
-    }
 
-    private void broadcastGameOver(String winner) {
-        for (ShootingGameServer.ClientHandler player : players) {
+        private void closeSocket() {
             try {
-                GameData gameOverData = new GameData(player.getClientId(), null, null, null, roomId, player.getPlayerRole(), player.getHp());
-                gameOverData.setGameOver(true);
-                gameOverData.setWinner(winner.equals(player.getPlayerRole()));
-                player.sendData(gameOverData);
+                socket.close();
             } catch (IOException e) {
-                System.out.println("게임 종료 메시지 전송 오류: " + player.getClientId());
+                GameLog.warn("소켓 닫기 오류", null, clientId, e.getMessage());
             }
         }
     }
-}
-
-
-class ServerGUI {
-    private final JFrame frame;
-    private final JTextArea logArea;
-    private final JTable roomTable;
-    private final DefaultTableModel roomTableModel;
-
-    public ServerGUI() {
-        frame = new JFrame("Shooting Game - Server");
-        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        frame.setSize(700, 400);
-        frame.setLayout(new BorderLayout());
-
-        // 로그 창
-        logArea = new JTextArea();
-        logArea.setEditable(false);
-        JScrollPane logScrollPane = new JScrollPane(logArea);
-        logScrollPane.setBorder(BorderFactory.createTitledBorder("서버 로그"));
-
-        // 방 정보 테이블
-        roomTableModel = new DefaultTableModel(new Object[]{"방 ID", "플레이어 수"}, 0);
-        roomTable = new JTable(roomTableModel);
-        JScrollPane tableScrollPane = new JScrollPane(roomTable);
-        tableScrollPane.setBorder(BorderFactory.createTitledBorder("방 상태"));
-
-        frame.add(logScrollPane, BorderLayout.CENTER);
-        frame.add(tableScrollPane, BorderLayout.EAST);
-        frame.setVisible(true);
-    }
 
-    public void log(String message) {
-        SwingUtilities.invokeLater(() -> logArea.append(message + "\n"));
-    }
-
-    public void addClient(String clientId, String roomId) {
-        log("클라이언트 추가: " + clientId + " (방: " + roomId + ")");
-    }
-
-    public DefaultTableModel getRoomTableModel() {
-        return roomTableModel;
+    public static void main(String[] args) {
+        if ("nio".equals(SERVER_MODE)) NioGameServer.checkProtocol(); // GUI/메트릭을 띄우기 전에 설정 오류로 종료
+        ShootingGameServer server = new ShootingGameServer();
+        if (!HEADLESS) {
+            server.addObserver(new ServerGUI());
+        }
+        server.start();
     }
-}
\ No newline at end of file
+}
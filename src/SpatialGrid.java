@@ -0,0 +1,90 @@
+import java.util.Arrays;
+
+// 충돌 broad-phase 용 균등 격자
+// 엔티티(정수 번호)를 AABB 가 걸치는 칸마다 등록하고, 질의 영역과 같은 칸에 있는 후보만 돌려준다.
+// 칸별 연결 리스트를 배열로 관리하므로 clear() 후 다시 채워도 용량이 늘지 않는 한 할당이 없다.
+// 경기장 밖 좌표는 가장자리 칸으로 붙인다.
+final class SpatialGrid {
+    private final int cellSize;
+    private final int columns;
+    private final int rows;
+    private final int[] cellHead; // 칸별 첫 항목, 없으면 -1
+
+    private int[] entryNext = new int[64];
+    private int[] entryEntity = new int[64];
+    private int entryCount;
+
+    // 여러 칸에 걸친 엔티티가 한 질의에서 두 번 나오지 않도록 질의 번호로 표시
+    private int[] visited = new int[64];
+    private int queryStamp;
+    private int[] candidates = new int[16];
+
+    SpatialGrid(int width, int height, int cellSize) {
+        this.cellSize = cellSize;
+        this.columns = (width + cellSize - 1) / cellSize;
+        this.rows = (height + cellSize - 1) / cellSize;
+        this.cellHead = new int[columns * rows];
+        Arrays.fill(cellHead, -1);
+    }
+
+    void clear() {
+        Arrays.fill(cellHead, -1);
+        entryCount = 0;
+    }
+
+    void insert(int entity, int x, int y, int width, int height) {
+        if (entity >= visited.length) {
+            visited = Arrays.copyOf(visited, Math.max(entity + 1, visited.length * 2));
+        }
+        int minColumn = column(x), maxColumn = column(x + width - 1);
+        int minRow = row(y), maxRow = row(y + height - 1);
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                if (entryCount == entryEntity.length) {
+                    entryNext = Arrays.copyOf(entryNext, entryCount * 2);
+                    entryEntity = Arrays.copyOf(entryEntity, entryCount * 2);
+                }
+                int cell = r * columns + c;
+                entryEntity[entryCount] = entity;
+                entryNext[entryCount] = cellHead[cell];
+                cellHead[cell] = entryCount++;
+            }
+        }
+    }
+
+    // 영역과 같은 칸에 등록된 엔티티 수 (실제로 겹치는지는 호출한 쪽에서 판정)
+    // 결과는 다음 query() 전까지 candidate(i) 로 읽는다
+    int query(int x, int y, int width, int height) {
+        if (++queryStamp == 0) {
+            Arrays.fill(visited, 0);
+            queryStamp = 1;
+        }
+        int count = 0;
+        int minColumn = column(x), maxColumn = column(x + width - 1);
+        int minRow = row(y), maxRow = row(y + height - 1);
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                for (int entry = cellHead[r * columns + c]; entry >= 0; entry = entryNext[entry]) {
+                    int entity = entryEntity[entry];
+                    if (visited[entity] == queryStamp) continue;
+                    visited[entity] = queryStamp;
+                    if (count == candidates.length) candidates = Arrays.copyOf(candidates, count * 2);
+                    candidates[count++] = entity;
+                }
+            }
+        }
+        return count;
+    }
+
+    int candidate(int i) {
+        return candidates[i];
+    }
+
+    private int column(int x) {
+        return Math.max(0, Math.min(x / cellSize, columns - 1));
+    }
+
+    private int row(int y) {
+        return Math.max(0, Math.min(y / cellSize, rows - 1));
+    }
+}
@@ -0,0 +1,96 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+// 관전 부하용 봇: 관전 포트에 접속해 관전자가 가장 많은 경기를 보고, 경기가 끝나면 다음 경기를 다시 요청
+// 같은 방 같은 틱의 상태 프레임을 가장 먼저 받은 관전자 대비 얼마나 늦게 받았는지로 송출 분산(fan-out)을 잰다
+final class SpectatorBot {
+    private static final long RETRY_NANOS = 1_000_000_000L; // 볼 경기가 없을 때 다시 요청하는 간격
+
+    private final String host;
+    private final int port;
+    private final LoadDriver.Stats stats;
+
+    private volatile Socket socket;
+    private volatile boolean running = true;
+
+    SpectatorBot(String host, int port, LoadDriver.Stats stats) {
+        this.host = host;
+        this.port = port;
+        this.stats = stats;
+    }
+
+    void run() {
+        while (running) {
+            try (Socket newSocket = new Socket()) {
+                newSocket.connect(new InetSocketAddress(host, port), 10_000);
+                socket = newSocket;
+                GameCodec codec = GameCodec.open(newSocket);
+                codec.read(); // 초기 데이터
+                stats.spectatorsConnected.increment();
+                codec.write(watchRequest());
+                watch(codec);
+            } catch (IOException e) {
+                if (!running) return;
+                stats.spectatorDisconnects.increment();
+                sleepNanos(RETRY_NANOS);
+            }
+        }
+    }
+
+    void stop() {
+        running = false;
+        Socket current = socket;
+        if (current == null) return;
+        try {
+            current.close();
+        } catch (IOException e) {
+            // 이미 닫힘
+        }
+    }
+
+    private void watch(GameCodec codec) throws IOException {
+        String roomId = null;
+        while (running) {
+            NetMessage message = codec.read();
+            long now = System.nanoTime();
+            if (message instanceof StateSnapshot snapshot) {
+                stats.spectatorFrames.increment();
+                if (roomId == null) continue;
+                long key = (long) roomId.hashCode() << 32 | snapshot.getTick();
+                if (stats.firstArrival.size() > 100_000) stats.firstArrival.clear(); // 오래된 틱 정리 (부하 도구라 대충)
+                Long first = stats.firstArrival.putIfAbsent(key, now);
+                stats.fanOutSpread.record(first == null ? 0 : Math.max(0, now - first) / 1_000);
+            } else if (message instanceof GameData data) {
+                if (SpectatorFeed.ROLE.equals(data.getPlayerRole())) {
+                    // 관전 요청 응답
+                    roomId = data.getRoomId();
+                    if (roomId == null) {
+                        sleepNanos(RETRY_NANOS);
+                        codec.write(watchRequest());
+                    }
+                } else if (data.isGameOver()) {
+                    stats.spectatedGames.increment();
+                    codec.write(watchRequest()); // 다음 인기 경기
+                } else {
+                    stats.spectatorEvents.increment();
+                }
+            }
+        }
+    }
+
+    // roomId 없이 보내면 서버가 관전자가 가장 많은 경기를 골라 줌
+    private static GameData watchRequest() {
+        GameData request = new GameData(null, null, null, null, null, SpectatorFeed.ROLE, 0);
+        request.setPlayer(null);
+        return request;
+    }
+
+    private static void sleepNanos(long nanos) {
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
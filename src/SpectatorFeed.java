@@ -0,0 +1,250 @@
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// 방 하나의 관전 송출
+// 방 틱이 관전용 프레임을 한 번만 인코딩해(GameProtocol.SharedFrame) 지연 대기열에 넣고,
+// 송출 작업이 지연이 지난 프레임을 모든 관전자의 송신 대기열에 같은 배열 그대로 넣는다 (관전자 수만큼 다시 인코딩하지 않음).
+// 송출은 관전자 수에 비례하므로 방 틱 스레드가 아닌 별도 스레드(spectator-feed-N)에서 돈다.
+// 관전자는 입력 ack 가 없으므로 상태는 항상 전체 스냅샷이고 STRIDE 틱에 한 번만 만든다.
+// 아이템/경기 종료 이벤트도 같은 지연을 거쳐 상태 프레임과 순서가 맞는다.
+// 경기가 끝나거나 방이 닫히면(end) 남은 프레임을 지연대로 다 보낸 뒤 관전자를 떼어 내고 송출 작업을 멈춘다.
+// 떼어 낸 관전자는 종료 이벤트를 받은 뒤 다시 관전 요청을 보내 다른 경기를 본다.
+// 관전자는 가상 스레드에서 붙고 떨어지므로 monitor 대신 ReentrantLock 을 쓰고, 송출 작업 예약은 락 밖에서 한다.
+//   -Dshooting.spectator.port=12346 (0 이면 관전 끔)
+//   -Dshooting.spectator.delay=2000 (ms)  -Dshooting.spectator.rate=10 (초당 상태 프레임, 최대 TICK_RATE)
+final class SpectatorFeed {
+    static final int PORT = Integer.getInteger("shooting.spectator.port", 12346);
+    static final String ROLE = "Spectator";
+    static final long DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(Math.max(0, Integer.getInteger("shooting.spectator.delay", 2000)));
+    static final int RATE = Math.max(1, Math.min(RoomSimulation.TICK_RATE, Integer.getInteger("shooting.spectator.rate", 10)));
+    static final int STRIDE = RoomSimulation.TICK_RATE / RATE; // 상태 프레임 간격 (틱)
+    private static final ScheduledExecutorService SENDER = Executors.newScheduledThreadPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+            Thread.ofPlatform().name("spectator-feed-", 0).daemon().factory());
+
+    // 전체 방 합계 (메트릭)
+    private static final AtomicInteger TOTAL_SPECTATORS = new AtomicInteger();
+    private static final LongAdder FRAMES_ENCODED = new LongAdder();
+    private static final LongAdder FRAMES_DELIVERED = new LongAdder();
+
+    private record Pending(long dueNanos, GameProtocol.SharedFrame frame, boolean state) {
+    }
+
+    private final String roomId;
+    private final Consumer<PlayerConnection> detached; // 떼어 낸 관전자 (송출 스레드에서 락 밖에서 호출)
+    private final CopyOnWriteArrayList<PlayerConnection> spectators = new CopyOnWriteArrayList<>(); // 송출 중 순회는 락 없이
+    private final ArrayDeque<Pending> pending = new ArrayDeque<>(); // pendingLock 으로 보호
+    private final ReentrantLock pendingLock = new ReentrantLock();
+    private final GameProtocol.FrameBuffer frameBuffer = new GameProtocol.FrameBuffer(); // 방 락 안에서만 사용
+    private final ReentrantLock lock = new ReentrantLock(); // 관전자 추가/제거와 송출 작업 시작/정지
+    private ScheduledFuture<?> releaseTask; // lock 으로 보호, 관전자가 있을 때만 돎
+    private boolean starting;               // lock 으로 보호, 락 밖에서 송출 작업을 예약하는 중
+    private boolean ending;                 // lock 으로 보호, 남은 프레임을 다 보내면 관전자를 떼어 냄
+
+    SpectatorFeed(String roomId, Consumer<PlayerConnection> detached) {
+        this.roomId = roomId;
+        this.detached = detached;
+    }
+
+    void add(PlayerConnection spectator) {
+        boolean start;
+        lock.lock();
+        try {
+            if (!spectators.addIfAbsent(spectator)) return;
+            TOTAL_SPECTATORS.incrementAndGet();
+            start = releaseTask == null && !starting;
+            if (start) starting = true;
+        } finally {
+            lock.unlock();
+        }
+        if (start) startRelease();
+    }
+
+    // 예약은 실행기 대기열의 락에서 기다릴 수 있어 lock 밖에서 하고, 그 사이 관전자가 모두 떠났으면 바로 취소
+    private void startRelease() {
+        long period = RoomSimulation.TICK_NANOS * STRIDE;
+        ScheduledFuture<?> task = SENDER.scheduleAtFixedRate(this::release, period, period, TimeUnit.NANOSECONDS);
+        lock.lock();
+        try {
+            starting = false;
+            if (!spectators.isEmpty()) {
+                releaseTask = task;
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        stopRelease(task);
+    }
+
+    void remove(PlayerConnection spectator) {
+        ScheduledFuture<?> task;
+        lock.lock();
+        try {
+            if (!spectators.remove(spectator)) return;
+            TOTAL_SPECTATORS.decrementAndGet();
+            if (!spectators.isEmpty()) return;
+            task = releaseTask;
+            releaseTask = null;
+        } finally {
+            lock.unlock();
+        }
+        stopRelease(task);
+    }
+
+    // 관전자가 없어짐: 송출 작업을 멈추고 남은 프레임은 버림
+    private void stopRelease(ScheduledFuture<?> task) {
+        if (task != null) task.cancel(false);
+        pendingLock.lock();
+        try {
+            pending.clear();
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    int count() {
+        return spectators.size();
+    }
+
+    // 새 경기 시작: 이전 경기의 end 를 취소 (남아 있던 관전자는 계속 봄)
+    void begin() {
+        lock.lock();
+        try {
+            ending = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 경기 종료/방 닫힘 (종료 이벤트를 publish 한 뒤 호출)
+    void end() {
+        lock.lock();
+        try {
+            ending = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 이하 방 락 안에서 호출 (관전자가 없으면 인코딩하지 않음)
+
+    void publishState(WorldState state) {
+        if (spectators.isEmpty() || state.tick % STRIDE != 0) return;
+        publish(StateSnapshot.full(state, 0), true);
+    }
+
+    // 아이템 생성/제거, 경기 종료
+    void publishEvent(NetMessage message) {
+        if (spectators.isEmpty()) return;
+        publish(message, false);
+    }
+
+    private void publish(NetMessage message, boolean state) {
+        GameProtocol.SharedFrame frame;
+        try {
+            frame = frameBuffer.encodeShared(message);
+        } catch (IOException e) {
+            GameLog.warn("관전 프레임 인코딩 오류", roomId, null, e.getMessage());
+            return;
+        }
+        FRAMES_ENCODED.increment();
+        pendingLock.lock();
+        try {
+            pending.add(new Pending(System.nanoTime() + DELAY_NANOS, frame, state));
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    // 송출 작업 (방 락 밖, STRIDE 틱마다): 지연이 지난 프레임을 순서대로 모든 관전자에게
+    private void release() {
+        try {
+            long now = System.nanoTime();
+            Pending next;
+            while ((next = pollDue(now)) != null) {
+                int delivered = 0;
+                for (PlayerConnection spectator : spectators) {
+                    try {
+                        if (next.state()) {
+                            spectator.sendState(next.frame());
+                        } else {
+                            spectator.sendData(next.frame());
+                        }
+                        delivered++;
+                    } catch (IOException e) {
+                        GameLog.warn("관전 프레임 전송 오류", roomId, spectator.getClientId(), e.getMessage());
+                    }
+                }
+                FRAMES_DELIVERED.add(delivered);
+            }
+            detachIfEnded();
+        } catch (RuntimeException e) {
+            // 예외가 나가면 scheduleAtFixedRate 가 취소되므로 여기서 막음
+            GameLog.error("관전 송출 오류", roomId, null, e);
+        }
+    }
+
+    // 끝난 경기의 프레임을 모두 보냈으면 관전자를 모두 떼어 내고 송출 작업 정지
+    private void detachIfEnded() {
+        List<PlayerConnection> removed;
+        ScheduledFuture<?> task;
+        lock.lock();
+        try {
+            if (!ending || hasPending()) return; // ending 은 begin 까지 유지 (끝난 방에 늦게 붙은 관전자도 다음 송출에서 떼어 냄)
+            removed = List.copyOf(spectators);
+            spectators.clear();
+            TOTAL_SPECTATORS.addAndGet(-removed.size());
+            task = releaseTask;
+            releaseTask = null;
+        } finally {
+            lock.unlock();
+        }
+        stopRelease(task);
+        for (PlayerConnection spectator : removed) {
+            detached.accept(spectator);
+        }
+    }
+
+    private boolean hasPending() {
+        pendingLock.lock();
+        try {
+            return !pending.isEmpty();
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    // 지연이 지난 가장 오래된 프레임, 없으면 null
+    private Pending pollDue(long now) {
+        pendingLock.lock();
+        try {
+            Pending next = pending.peek();
+            return next == null || next.dueNanos() - now > 0 ? null : pending.poll();
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    static int totalSpectators() {
+        return TOTAL_SPECTATORS.get();
+    }
+
+    static long framesEncoded() {
+        return FRAMES_ENCODED.sum();
+    }
+
+    static long framesDelivered() {
+        return FRAMES_DELIVERED.sum();
+    }
+}
@@ -0,0 +1,164 @@
+import java.util.Arrays;
+import java.util.Objects;
+
+// 서버가 틱마다 내려보내는 상태
+// baseTick 이 -1 이면 전체 스냅샷, 아니면 클라이언트가 확인(ack)한 baseTick 상태 대비 바뀐 필드만 담은 델타
+// 미사일은 기준 상태 이후 새로 생긴 것(생성 정보 전체)과 사라진 것(id)만 담는다
+public class StateSnapshot implements NetMessage {
+    private static final long serialVersionUID = 1L;
+
+    static final int FULL = -1;
+    static final int FIELD_ID = 1;
+    static final int FIELD_X = 1 << 1;
+    static final int FIELD_Y = 1 << 2;
+    static final int FIELD_HP = 1 << 3;
+    static final int ALL_FIELDS = FIELD_ID | FIELD_X | FIELD_Y | FIELD_HP;
+
+    private final int tick;
+    private final int baseTick;
+    private final int ackSequence; // 서버가 이 클라이언트 입력을 어디까지 처리했는지
+    private final int[] fields;    // 슬롯별 포함된 필드 비트
+    private final String[] clientIds;
+    private final int[] x;
+    private final int[] y;
+    private final int[] hp;
+    private final int[] spawned;      // 생성 정보 레코드, id 오름차순
+    private final int[] despawned;    // id 오름차순
+
+    StateSnapshot(int tick, int baseTick, int ackSequence, int[] fields, String[] clientIds, int[] x, int[] y, int[] hp,
+                  int[] spawned, int[] despawned) {
+        this.tick = tick;
+        this.baseTick = baseTick;
+        this.ackSequence = ackSequence;
+        this.fields = fields;
+        this.clientIds = clientIds;
+        this.x = x;
+        this.y = y;
+        this.hp = hp;
+        this.spawned = spawned;
+        this.despawned = despawned;
+    }
+
+    static StateSnapshot full(WorldState state, int ackSequence) {
+        int[] fields = new int[WorldState.SLOTS];
+        Arrays.fill(fields, ALL_FIELDS);
+        return new StateSnapshot(state.tick, FULL, ackSequence, fields, state.clientIds, state.x, state.y, state.hp,
+                state.missiles, new int[0]);
+    }
+
+    static StateSnapshot delta(WorldState base, WorldState state, int ackSequence) {
+        int[] fields = new int[WorldState.SLOTS];
+        for (int slot = 0; slot < WorldState.SLOTS; slot++) {
+            int changed = 0;
+            if (!Objects.equals(base.clientIds[slot], state.clientIds[slot])) changed |= FIELD_ID;
+            if (base.x[slot] != state.x[slot]) changed |= FIELD_X;
+            if (base.y[slot] != state.y[slot]) changed |= FIELD_Y;
+            if (base.hp[slot] != state.hp[slot]) changed |= FIELD_HP;
+            fields[slot] = changed;
+        }
+
+        // 두 상태 모두 id 오름차순이므로 한 번의 병합으로 생성/소멸 목록을 구함
+        int baseCount = base.missileCount();
+        int count = state.missileCount();
+        int[] spawned = new int[state.missiles.length];
+        int[] despawned = new int[baseCount];
+        int spawnedLength = 0, despawnedCount = 0;
+        int i = 0, j = 0;
+        while (i < baseCount || j < count) {
+            int baseId = i < baseCount ? base.missileId(i) : Integer.MAX_VALUE;
+            int id = j < count ? state.missileId(j) : Integer.MAX_VALUE;
+            if (baseId == id) {
+                i++;
+                j++;
+            } else if (baseId < id) {
+                despawned[despawnedCount++] = baseId;
+                i++;
+            } else {
+                System.arraycopy(state.missiles, j++ * MissilePool.RECORD, spawned, spawnedLength, MissilePool.RECORD);
+                spawnedLength += MissilePool.RECORD;
+            }
+        }
+        return new StateSnapshot(state.tick, base.tick, ackSequence, fields, state.clientIds, state.x, state.y, state.hp,
+                Arrays.copyOf(spawned, spawnedLength), Arrays.copyOf(despawned, despawnedCount));
+    }
+
+    // 기준 상태에 델타를 적용해 완전한 상태 복원 (전체 스냅샷이면 base 는 무시)
+    WorldState apply(WorldState base) {
+        if (baseTick == FULL) return new WorldState(tick, clientIds, x, y, hp, spawned);
+        String[] mergedIds = base.clientIds.clone();
+        int[] mergedX = base.x.clone();
+        int[] mergedY = base.y.clone();
+        int[] mergedHp = base.hp.clone();
+        for (int slot = 0; slot < WorldState.SLOTS; slot++) {
+            int changed = fields[slot];
+            if ((changed & FIELD_ID) != 0) mergedIds[slot] = clientIds[slot];
+            if ((changed & FIELD_X) != 0) mergedX[slot] = x[slot];
+            if ((changed & FIELD_Y) != 0) mergedY[slot] = y[slot];
+            if ((changed & FIELD_HP) != 0) mergedHp[slot] = hp[slot];
+        }
+
+        // 기준 미사일에서 소멸분을 빼고 생성분을 id 순서대로 병합
+        int record = MissilePool.RECORD;
+        int[] missiles = new int[base.missiles.length + spawned.length];
+        int length = 0, d = 0, s = 0;
+        for (int offset = 0; offset < base.missiles.length; offset += record) {
+            int id = base.missiles[offset];
+            while (d < despawned.length && despawned[d] < id) d++;
+            if (d < despawned.length && despawned[d] == id) continue;
+            while (s < spawned.length && spawned[s] < id) {
+                System.arraycopy(spawned, s, missiles, length, record);
+                s += record;
+                length += record;
+            }
+            System.arraycopy(base.missiles, offset, missiles, length, record);
+            length += record;
+        }
+        System.arraycopy(spawned, s, missiles, length, spawned.length - s);
+        length += spawned.length - s;
+        return new WorldState(tick, mergedIds, mergedX, mergedY, mergedHp, Arrays.copyOf(missiles, length));
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    public int getBaseTick() {
+        return baseTick;
+    }
+
+    public boolean isFull() {
+        return baseTick == FULL;
+    }
+
+    public int getAckSequence() {
+        return ackSequence;
+    }
+
+    int getFields(int slot) {
+        return fields[slot];
+    }
+
+    String getClientId(int slot) {
+        return clientIds[slot];
+    }
+
+    int getX(int slot) {
+        return x[slot];
+    }
+
+    int getY(int slot) {
+        return y[slot];
+    }
+
+    int getHp(int slot) {
+        return hp[slot];
+    }
+
+    int[] getSpawned() {
+        return spawned;
+    }
+
+    int[] getDespawned() {
+        return despawned;
+    }
+}
@@ -0,0 +1,84 @@
+import java.awt.*;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+// 한 틱 시점의 방 전체 상태 (불변)
+// 서버는 틱마다 하나씩 만들어 델타 기준으로 보관하고, 클라이언트는 스냅샷을 적용해 복원한다
+// 미사일은 생성 정보 레코드(MissilePool.RECORD 개씩 묶은 int)만 담고 위치는 틱으로 계산한다
+final class WorldState implements Serializable {
+    private static final long serialVersionUID = 1L;
+    static final int SLOTS = 2;
+
+    final int tick;
+    final String[] clientIds;
+    final int[] x;
+    final int[] y;
+    final int[] hp;
+    final int[] missiles; // 생성 정보 레코드, id 오름차순
+
+    WorldState(int tick, String[] clientIds, int[] x, int[] y, int[] hp, int[] missiles) {
+        this.tick = tick;
+        this.clientIds = clientIds;
+        this.x = x;
+        this.y = y;
+        this.hp = hp;
+        this.missiles = missiles;
+    }
+
+    static WorldState capture(int tick, String[] clientIds, RoomSimulation simulation) {
+        int[] x = new int[SLOTS];
+        int[] y = new int[SLOTS];
+        int[] hp = new int[SLOTS];
+        for (int slot = 0; slot < SLOTS; slot++) {
+            Rectangle player = simulation.getPlayer(slot);
+            x[slot] = player.x;
+            y[slot] = player.y;
+            hp[slot] = simulation.getHp(slot);
+        }
+        int[] missiles = simulation.getMissiles().records();
+        return new WorldState(tick, clientIds.clone(), x, y, hp, missiles);
+    }
+
+    int missileCount() {
+        return missiles.length / MissilePool.RECORD;
+    }
+
+    int missileId(int i) {
+        return missiles[i * MissilePool.RECORD];
+    }
+
+    // id 오름차순이므로 이진 탐색
+    boolean hasMissile(int id) {
+        int low = 0, high = missileCount() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = missileId(mid);
+            if (midId < id) low = mid + 1;
+            else if (midId > id) high = mid - 1;
+            else return true;
+        }
+        return false;
+    }
+
+    int slotOf(String clientId) {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            if (clientId != null && clientId.equals(clientIds[slot])) return slot;
+        }
+        return -1;
+    }
+
+    // 기존 GameData 프로토콜용: 이 틱 시점 위치로 계산한 슬롯별 미사일 목록
+    List<Missile> getMissiles(int slot) {
+        List<Missile> list = new ArrayList<>();
+        for (int offset = 0; offset < missiles.length; offset += MissilePool.RECORD) {
+            if (missiles[offset + 1] != slot) continue;
+            int elapsed = tick - missiles[offset + 2];
+            int directionX = missiles[offset + 5];
+            int directionY = missiles[offset + 6];
+            list.add(new Missile(missiles[offset + 3] + directionX * Missile.SPEED * elapsed,
+                    missiles[offset + 4] + directionY * Missile.SPEED * elapsed, directionX, directionY));
+        }
+        return list;
+    }
+}